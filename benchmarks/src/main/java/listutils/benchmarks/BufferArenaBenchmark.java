@@ -0,0 +1,74 @@
+package listutils.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import listutils.BufferArena;
+import listutils.ListUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks repeated {@code int} flattens and transposes of one shape with and without a
+ * {@link BufferArena}. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BufferArenaBenchmark {
+
+  /** Side length of the square matrix. */
+  @Param({"64", "512"})
+  public int side;
+
+  private int[][] ints;
+  private BufferArena arena;
+
+  @Setup
+  public void setUp() {
+    ints = new int[side][side];
+    for (int r = 0; r < side; r++) {
+      for (int i = 0; i < side; i++) {
+        ints[r][i] = r * side + i;
+      }
+    }
+    arena = new BufferArena();
+  }
+
+  @Benchmark
+  public int flatten() {
+    return ListUtility.flattenToArray(ints)[side];
+  }
+
+  @Benchmark
+  public int flattenArena() {
+    int[] flat = ListUtility.flattenToArray(ints, arena);
+    int element = flat[side];
+    arena.release(flat);
+    return element;
+  }
+
+  @Benchmark
+  public int transpose() {
+    return ListUtility.transpose(ints).get(1)[0];
+  }
+
+  @Benchmark
+  public int transposeArena() {
+    List<int[]> transposed = ListUtility.transpose(ints, arena);
+    int element = transposed.get(1)[0];
+    arena.releaseAll(transposed);
+    return element;
+  }
+}
@@ -0,0 +1,54 @@
+package listutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import listutils.ListUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks growing an empty List with the {@code ensureSize} overloads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnsureSizeBenchmark {
+
+  /** Size the List is grown to. */
+  @Param({"1000", "1000000"})
+  public int size;
+
+  @Benchmark
+  public List<Object> arrayList() {
+    ArrayList<Object> list = new ArrayList<>();
+    ListUtility.ensureSize(list, size);
+    return list;
+  }
+
+  @Benchmark
+  public List<Object> arrayListAsList() {
+    List<Object> list = new ArrayList<>();
+    ListUtility.ensureSize(list, size);
+    return list;
+  }
+
+  @Benchmark
+  public List<Object> linkedList() {
+    List<Object> list = new LinkedList<>();
+    ListUtility.ensureSize(list, size);
+    return list;
+  }
+}
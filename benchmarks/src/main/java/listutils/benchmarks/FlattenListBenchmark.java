@@ -0,0 +1,74 @@
+package listutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import listutils.ListUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link ListUtility#flatten(List)} and {@link ListUtility#flatten(List, int)} on
+ * nested Lists of varying depth, width and implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlattenListBenchmark {
+
+  /** Number of nesting levels above the leaves. */
+  @Param({"1", "2", "4"})
+  public int depth;
+
+  /** Number of elements in each List. */
+  @Param({"8", "64"})
+  public int width;
+
+  /** List implementation used at every level. */
+  @Param({"ArrayList", "LinkedList"})
+  public String implementation;
+
+  private List<Object> nested;
+
+  @Setup
+  public void setUp() {
+    // Keep roughly a million leaves at most, whatever the depth
+    int levelWidth = width;
+    while (Math.pow(levelWidth, depth + 1) > 1_000_000 && levelWidth > 2) {
+      levelWidth--;
+    }
+    nested = build(depth, levelWidth);
+  }
+
+  private List<Object> build(int level, int size) {
+    List<Object> list = "LinkedList".equals(implementation) ? new LinkedList<>()
+        : new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(level == 0 ? (Object) i : build(level - 1, size));
+    }
+    return list;
+  }
+
+  @Benchmark
+  public List<Object> flatten() {
+    return ListUtility.flatten(nested);
+  }
+
+  @Benchmark
+  public List<Object> flattenOneLevel() {
+    return ListUtility.flatten(nested, 1);
+  }
+}
@@ -0,0 +1,216 @@
+package listutils.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import listutils.ListUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@code flatten} and {@code transpose} overloads for arrays of primitive arrays,
+ * for every primitive type, on matrices of the same element count but different shapes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveArrayBenchmark {
+
+  /**
+   * Shape of the matrix: {@code square}, {@code tall} (many short rows), {@code wide} (few long
+   * rows) or {@code ragged} (rows of random length).
+   */
+  @Param({"square", "tall", "wide", "ragged"})
+  public String shape;
+
+  /** Approximate number of elements in the matrix. */
+  @Param({"65536", "4194304"})
+  public int elements;
+
+  private int[][] ints;
+  private char[][] chars;
+  private double[][] doubles;
+  private boolean[][] booleans;
+  private short[][] shorts;
+  private long[][] longs;
+  private float[][] floats;
+  private byte[][] bytes;
+
+  @Setup
+  public void setUp() {
+    int side = (int) Math.sqrt(elements);
+    int[] lengths;
+    switch (shape) {
+      case "tall":
+        lengths = filled(elements / 16, 16);
+        break;
+      case "wide":
+        lengths = filled(16, elements / 16);
+        break;
+      case "ragged":
+        lengths = new int[side];
+        Random random = new Random(42);
+        for (int r = 0; r < side; r++) {
+          lengths[r] = 1 + random.nextInt(2 * side - 1);
+        }
+        break;
+      default:
+        lengths = filled(side, side);
+    }
+    ints = new int[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      ints[r] = new int[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        ints[r][i] = (int) i;
+      }
+    }
+    chars = new char[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      chars[r] = new char[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        chars[r][i] = (char) i;
+      }
+    }
+    doubles = new double[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      doubles[r] = new double[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        doubles[r][i] = i;
+      }
+    }
+    booleans = new boolean[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      booleans[r] = new boolean[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        booleans[r][i] = (i & 1) == 0;
+      }
+    }
+    shorts = new short[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      shorts[r] = new short[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        shorts[r][i] = (short) i;
+      }
+    }
+    longs = new long[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      longs[r] = new long[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        longs[r][i] = i;
+      }
+    }
+    floats = new float[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      floats[r] = new float[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        floats[r][i] = i;
+      }
+    }
+    bytes = new byte[lengths.length][];
+    for (int r = 0; r < lengths.length; r++) {
+      bytes[r] = new byte[lengths[r]];
+      for (int i = 0; i < lengths[r]; i++) {
+        bytes[r][i] = (byte) i;
+      }
+    }
+  }
+
+  private static int[] filled(int rows, int columns) {
+    int[] lengths = new int[rows];
+    Arrays.fill(lengths, columns);
+    return lengths;
+  }
+
+  @Benchmark
+  public List<int[]> flattenInt() {
+    return ListUtility.flatten(ints);
+  }
+
+  @Benchmark
+  public List<int[]> transposeInt() {
+    return ListUtility.transpose(ints);
+  }
+
+  @Benchmark
+  public List<char[]> flattenChar() {
+    return ListUtility.flatten(chars);
+  }
+
+  @Benchmark
+  public List<char[]> transposeChar() {
+    return ListUtility.transpose(chars);
+  }
+
+  @Benchmark
+  public List<double[]> flattenDouble() {
+    return ListUtility.flatten(doubles);
+  }
+
+  @Benchmark
+  public List<double[]> transposeDouble() {
+    return ListUtility.transpose(doubles);
+  }
+
+  @Benchmark
+  public List<boolean[]> flattenBoolean() {
+    return ListUtility.flatten(booleans);
+  }
+
+  @Benchmark
+  public List<boolean[]> transposeBoolean() {
+    return ListUtility.transpose(booleans);
+  }
+
+  @Benchmark
+  public List<short[]> flattenShort() {
+    return ListUtility.flatten(shorts);
+  }
+
+  @Benchmark
+  public List<short[]> transposeShort() {
+    return ListUtility.transpose(shorts);
+  }
+
+  @Benchmark
+  public List<long[]> flattenLong() {
+    return ListUtility.flatten(longs);
+  }
+
+  @Benchmark
+  public List<long[]> transposeLong() {
+    return ListUtility.transpose(longs);
+  }
+
+  @Benchmark
+  public List<float[]> flattenFloat() {
+    return ListUtility.flatten(floats);
+  }
+
+  @Benchmark
+  public List<float[]> transposeFloat() {
+    return ListUtility.transpose(floats);
+  }
+
+  @Benchmark
+  public List<byte[]> flattenByte() {
+    return ListUtility.flatten(bytes);
+  }
+
+  @Benchmark
+  public List<byte[]> transposeByte() {
+    return ListUtility.transpose(bytes);
+  }
+}
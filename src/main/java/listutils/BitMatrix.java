@@ -0,0 +1,302 @@
+package listutils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Dense matrix of bits, packed 64 to a {@code long}.
+ * <p>
+ * Each row starts on a new word, with column <i>j</i> at bit {@code j % 64} of word
+ * {@code j / 64} of the row, as in a {@link BitSet}. A matrix takes an eighth of the memory of
+ * the equivalent {@code boolean[][]}, so a 100,000-by-100,000 matrix fits in about 1.2 GB.
+ * </p>
+ * <p>
+ * {@link #transpose()} works on 64-by-64 blocks of bits held in 64 words, exchanging halves,
+ * then quarters and so on down to single bits with shifts and masks, so each block takes
+ * 6 * 32 word operations instead of 4096 single-bit ones.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class BitMatrix {
+
+  private final int rows;
+  private final int columns;
+  private final int rowWords;
+  private final long[] words;
+
+  /**
+   * Creates a {@code rows}-by-{@code columns} matrix of clear bits.
+   *
+   * @param rows Number of rows
+   * @param columns Number of columns
+   */
+  public BitMatrix(int rows, int columns) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Negative dimension: " + rows + " by " + columns);
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.rowWords = wordsFor(columns);
+    long size = (long) rows * rowWords;
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Matrix of " + rows + " by " + columns
+          + " exceeds the largest array of words");
+    }
+    this.words = new long[(int) size];
+  }
+
+  /**
+   * Returns a new matrix holding the elements of {@code original}, one array per row.
+   *
+   * @param original Rows of equal length
+   * @return New matrix
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static BitMatrix of(boolean[][] original) {
+    int columns = original.length == 0 ? 0 : original[0].length;
+    BitMatrix matrix = new BitMatrix(original.length, columns);
+    for (int i = 0; i < original.length; i++) {
+      boolean[] row = original[i];
+      if (row.length != columns) {
+        throw new IllegalArgumentException("Row " + i + " has " + row.length
+            + " elements, but row 0 has " + columns);
+      }
+      int base = i * matrix.rowWords;
+      for (int j = 0; j < columns; j++) {
+        if (row[j]) {
+          matrix.words[base + (j >>> 6)] |= 1L << j;
+        }
+      }
+    }
+    return matrix;
+  }
+
+  /**
+   * Returns a new matrix of {@code columns} columns whose rows hold the bits of {@code original}.
+   * Bits at or past {@code columns} are ignored.
+   *
+   * @param original Rows
+   * @param columns Number of columns
+   * @return New matrix
+   */
+  public static BitMatrix of(List<BitSet> original, int columns) {
+    BitMatrix matrix = new BitMatrix(original.size(), columns);
+    int i = 0;
+    for (BitSet row : original) {
+      long[] bits = row.toLongArray();
+      int base = i * matrix.rowWords;
+      System.arraycopy(bits, 0, matrix.words, base, Math.min(bits.length, matrix.rowWords));
+      matrix.clearPadding(i);
+      i++;
+    }
+    return matrix;
+  }
+
+  private static int wordsFor(long bits) {
+    return (int) ((bits + 63) >>> 6);
+  }
+
+  /**
+   * Clears the bits past the last column of row {@code i}, which must stay clear.
+   */
+  private void clearPadding(int i) {
+    if ((columns & 63) != 0) {
+      words[i * rowWords + rowWords - 1] &= -1L >>> -columns;
+    }
+  }
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return Number of rows
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns.
+   *
+   * @return Number of columns
+   */
+  public int columns() {
+    return columns;
+  }
+
+  /**
+   * Returns the bit at row {@code i}, column {@code j}.
+   *
+   * @param i Row index
+   * @param j Column index
+   * @return Bit
+   */
+  public boolean get(int i, int j) {
+    return (words[word(i, j)] & 1L << j) != 0;
+  }
+
+  /**
+   * Sets or clears the bit at row {@code i}, column {@code j}.
+   *
+   * @param i Row index
+   * @param j Column index
+   * @param value New bit
+   */
+  public void set(int i, int j, boolean value) {
+    int word = word(i, j);
+    if (value) {
+      words[word] |= 1L << j;
+    } else {
+      words[word] &= ~(1L << j);
+    }
+  }
+
+  private int word(int i, int j) {
+    if (i < 0 || i >= rows || j < 0 || j >= columns) {
+      throw new IndexOutOfBoundsException("Index: (" + i + ", " + j + "), Size: " + rows + " by "
+          + columns);
+    }
+    return i * rowWords + (j >>> 6);
+  }
+
+  /**
+   * Returns the number of set bits.
+   *
+   * @return Number of set bits
+   */
+  public long cardinality() {
+    long count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Returns a new matrix that is the transposition of this one.
+   *
+   * @return Transposed matrix
+   */
+  public BitMatrix transpose() {
+    BitMatrix transposed = new BitMatrix(columns, rows);
+    long[] block = new long[64];
+    for (int rowBlock = 0; rowBlock < transposed.rowWords; rowBlock++) {
+      int firstRow = rowBlock << 6;
+      int blockRows = Math.min(64, rows - firstRow);
+      for (int columnBlock = 0; columnBlock < rowWords; columnBlock++) {
+        int source = firstRow * rowWords + columnBlock;
+        for (int r = 0; r < blockRows; r++, source += rowWords) {
+          block[r] = words[source];
+        }
+        for (int r = blockRows; r < 64; r++) {
+          block[r] = 0;
+        }
+        transpose64(block);
+        int firstColumn = columnBlock << 6;
+        int blockColumns = Math.min(64, columns - firstColumn);
+        int target = firstColumn * transposed.rowWords + rowBlock;
+        for (int c = 0; c < blockColumns; c++, target += transposed.rowWords) {
+          transposed.words[target] = block[c];
+        }
+      }
+    }
+    return transposed;
+  }
+
+  /**
+   * Transposes the 64-by-64 block of bits held in {@code block}, where bit <i>c</i> of word
+   * <i>r</i> is element (<i>r</i>, <i>c</i>). Each pass swaps the off-diagonal quadrants of
+   * every sub-block of twice the width, starting at 32 and halving down to 1.
+   */
+  static void transpose64(long[] block) {
+    long mask = 0x00000000FFFFFFFFL;
+    for (int width = 32; width != 0; width >>>= 1, mask ^= mask << width) {
+      for (int k = 0; k < 64; k = (k | width) + 1 & ~width) {
+        long swap = (block[k] >>> width ^ block[k | width]) & mask;
+        block[k | width] ^= swap;
+        block[k] ^= swap << width;
+      }
+    }
+  }
+
+  /**
+   * Returns row {@code i} as a new {@link BitSet}.
+   *
+   * @param i Row index
+   * @return Bits of the row
+   */
+  public BitSet row(int i) {
+    if (i < 0 || i >= rows) {
+      throw new IndexOutOfBoundsException("Row: " + i + ", Rows: " + rows);
+    }
+    int base = i * rowWords;
+    return BitSet.valueOf(Arrays.copyOfRange(words, base, base + rowWords));
+  }
+
+  /**
+   * Returns the bits row by row, with element (<i>i</i>, <i>j</i>) at bit
+   * {@code i * columns() + j}, as {@link ListUtility#flattenToBitSet(boolean[][])} would.
+   *
+   * @return Flattened bits
+   * @throws IllegalStateException if the matrix holds more than {@code Integer.MAX_VALUE} bits,
+   *     the most a {@code BitSet} can index
+   */
+  public BitSet toBitSet() {
+    long size = (long) rows * columns;
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Matrix of " + size + " bits exceeds a BitSet");
+    }
+    return BitSet.valueOf(toLongArray());
+  }
+
+  /**
+   * Returns the bits row by row in packed words, with element (<i>i</i>, <i>j</i>) at bit
+   * {@code (i * columns() + j) % 64} of word {@code (i * columns() + j) / 64}, the layout of
+   * {@link BitSet#toLongArray()}. Rows are copied a word at a time.
+   *
+   * @return Flattened words
+   */
+  public long[] toLongArray() {
+    long size = (long) rows * columns;
+    if (wordsFor(size) > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Matrix of " + size + " bits exceeds the largest array");
+    }
+    long[] flat = new long[wordsFor(size)];
+    if ((columns & 63) == 0) {
+      System.arraycopy(words, 0, flat, 0, words.length);
+      return flat;
+    }
+    long position = 0;
+    for (int i = 0; i < rows; i++) {
+      int base = i * rowWords;
+      for (int w = 0; w < rowWords; w++) {
+        long bits = words[base + w];
+        int target = (int) (position >>> 6);
+        int shift = (int) position & 63;
+        flat[target] |= bits << shift;
+        if (shift != 0 && target + 1 < flat.length) {
+          flat[target + 1] |= bits >>> -shift;
+        }
+        position += Math.min(64, columns - (w << 6));
+      }
+    }
+    return flat;
+  }
+
+  /**
+   * Returns a new array of the rows of this matrix.
+   *
+   * @return Array of rows
+   */
+  public boolean[][] toArray() {
+    boolean[][] array = new boolean[rows][columns];
+    for (int i = 0; i < rows; i++) {
+      int base = i * rowWords;
+      for (int j = 0; j < columns; j++) {
+        array[i][j] = (words[base + (j >>> 6)] & 1L << j) != 0;
+      }
+    }
+    return array;
+  }
+}
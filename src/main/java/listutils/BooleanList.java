@@ -0,0 +1,367 @@
+package listutils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of {@code boolean} values, stored without boxing.
+ * <p>
+ * Elements are kept in a single {@code boolean[]} that grows as needed. {@link #asList()} adapts
+ * the list to a {@code List<Boolean>} for code that needs one, boxing only the elements that are
+ * read.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class BooleanList {
+
+  private static final boolean[] EMPTY = new boolean[0];
+
+  private boolean[] elements;
+  private int size;
+
+  /**
+   * Creates an empty list.
+   */
+  public BooleanList() {
+    elements = EMPTY;
+  }
+
+  /**
+   * Creates an empty list that can hold {@code capacity} elements before growing.
+   *
+   * @param capacity Initial capacity
+   */
+  public BooleanList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+    }
+    elements = capacity == 0 ? EMPTY : new boolean[capacity];
+  }
+
+  private BooleanList(boolean[] elements, int size) {
+    this.elements = elements;
+    this.size = size;
+  }
+
+  /**
+   * Returns a list holding a copy of {@code values}.
+   *
+   * @param values Initial elements
+   * @return New list
+   */
+  public static BooleanList of(boolean... values) {
+    return new BooleanList(values.clone(), values.length);
+  }
+
+  /**
+   * Returns a list backed by {@code array}, without copying it.
+   * <p>
+   * Changes to the elements of either are visible in the other until the list grows, at which
+   * point it moves to a larger array of its own.
+   * </p>
+   *
+   * @param array Backing array
+   * @return New list
+   */
+  public static BooleanList wrap(boolean[] array) {
+    return new BooleanList(array, array.length);
+  }
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return Number of elements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether there are no elements.
+   *
+   * @return Whether the list is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at {@code index}.
+   *
+   * @param index Index of the element
+   * @return Element at {@code index}
+   */
+  public boolean get(int index) {
+    PrimitiveLists.checkIndex(index, size);
+    return elements[index];
+  }
+
+  /**
+   * Replaces the element at {@code index}.
+   *
+   * @param index Index of the element
+   * @param value New element
+   * @return Previous element
+   */
+  public boolean set(int index, boolean value) {
+    PrimitiveLists.checkIndex(index, size);
+    boolean previous = elements[index];
+    elements[index] = value;
+    return previous;
+  }
+
+  /**
+   * Appends {@code value}.
+   *
+   * @param value Element to append
+   */
+  public void add(boolean value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+  }
+
+  /**
+   * Inserts {@code value} at {@code index}, shifting later elements along.
+   *
+   * @param index Index to insert at
+   * @param value Element to insert
+   */
+  public void add(int index, boolean value) {
+    PrimitiveLists.checkIndex(index, size + 1);
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = value;
+    size++;
+  }
+
+  /**
+   * Appends every element of {@code values}.
+   *
+   * @param values Elements to append
+   */
+  public void addAll(boolean[] values) {
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Appends {@code length} elements of {@code values} from {@code offset} on.
+   *
+   * @param values Elements to append
+   * @param offset Index of the first element to append
+   * @param length Number of elements to append
+   */
+  public void addAll(boolean[] values, int offset, int length) {
+    PrimitiveLists.checkRange(offset, length, values.length);
+    if (length > elements.length - size) {
+      grow(size + length);
+    }
+    System.arraycopy(values, offset, elements, size, length);
+    size += length;
+  }
+
+  /**
+   * Appends every element of {@code values}.
+   *
+   * @param values Elements to append
+   */
+  public void addAll(BooleanList values) {
+    addAll(values.elements, 0, values.size);
+  }
+
+  /**
+   * Removes the element at {@code index}, shifting later elements back.
+   *
+   * @param index Index of the element
+   * @return Removed element
+   */
+  public boolean removeAt(int index) {
+    PrimitiveLists.checkIndex(index, size);
+    boolean removed = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+    size--;
+    return removed;
+  }
+
+  /**
+   * Removes every element. The capacity is kept.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Returns the index of the first element equal to {@code value}, or -1 if there is none.
+   *
+   * @param value Element to find
+   * @return Index of the element
+   */
+  public int indexOf(boolean value) {
+    for (int i = 0; i < size; i++) {
+      if (elements[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether an element is equal to {@code value}.
+   *
+   * @param value Element to find
+   * @return Whether the element is present
+   */
+  public boolean contains(boolean value) {
+    return indexOf(value) >= 0;
+  }
+
+  /**
+   * Sorts the elements into ascending order, {@code false} before {@code true}.
+   */
+  public void sort() {
+    int falses = 0;
+    for (int i = 0; i < size; i++) {
+      if (!elements[i]) {
+        falses++;
+      }
+    }
+    Arrays.fill(elements, 0, falses, false);
+    Arrays.fill(elements, falses, size, true);
+  }
+
+  /**
+   * Ensures at least {@code capacity} elements can be held without growing.
+   *
+   * @param capacity Required capacity
+   */
+  public void ensureCapacity(int capacity) {
+    if (capacity > elements.length) {
+      grow(capacity);
+    }
+  }
+
+  /**
+   * Shrinks the capacity to the number of elements.
+   */
+  public void trimToSize() {
+    if (size < elements.length) {
+      elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+    }
+  }
+
+  /**
+   * Returns a new array holding the elements.
+   *
+   * @return Array of the elements
+   */
+  public boolean[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * Returns a {@code List<Boolean>} view of this list.
+   * <p>
+   * Changes through the view, including additions and removals, are made to this list, and
+   * elements are boxed only as they are read.
+   * </p>
+   *
+   * @return Boxed view
+   */
+  public List<Boolean> asList() {
+    return new Boxed();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof BooleanList)) {
+      return false;
+    }
+    BooleanList other = (BooleanList) obj;
+    if (size != other.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (elements[i] != other.elements[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the same hash code as a {@code List<Boolean>} of the same elements.
+   */
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + Boolean.hashCode(elements[i]);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(elements[i]);
+    }
+    return builder.append(']').toString();
+  }
+
+  private void grow(int capacity) {
+    elements = Arrays.copyOf(elements, PrimitiveLists.grownCapacity(elements.length, capacity));
+  }
+
+  /**
+   * Boxed view returned by {@link #asList()}.
+   */
+  private final class Boxed extends AbstractList<Boolean> implements RandomAccess {
+
+    @Override
+    public Boolean get(int index) {
+      return BooleanList.this.get(index);
+    }
+
+    @Override
+    public Boolean set(int index, Boolean element) {
+      return BooleanList.this.set(index, element);
+    }
+
+    @Override
+    public void add(int index, Boolean element) {
+      BooleanList.this.add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public Boolean remove(int index) {
+      Boolean removed = removeAt(index);
+      modCount++;
+      return removed;
+    }
+
+    @Override
+    public void clear() {
+      BooleanList.this.clear();
+      modCount++;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,374 @@
+package listutils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Pool of primitive arrays for reuse across repeated flatten and transpose calls.
+ * <p>
+ * The {@code flattenToArray} and {@code transpose} overloads that take an arena draw their result
+ * arrays from it instead of allocating them. Once the caller is done with a result, handing it
+ * back with {@link #release(Object)} lets the next call of the same shape reuse it, so a steady
+ * stream of similar calls stops producing short-lived garbage.
+ * </p>
+ * <p>
+ * Arrays are kept in buckets by element type and exact length, found through a table keyed by
+ * the primitive length, so looking one up allocates nothing. At most
+ * {@link #maxRetainedBytes()} bytes are kept: arrays released beyond that are left to the
+ * garbage collector. Arrays handed out are not cleared, so they may hold the elements of an
+ * earlier use until they are overwritten.
+ * </p>
+ * <p>
+ * An arena is not thread-safe. Use one per caller, or the calling thread's own arena from
+ * {@link #local()}.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class BufferArena {
+
+  /** Bytes kept by arenas created without a limit, including those of {@link #local()}. */
+  public static final long DEFAULT_MAX_RETAINED_BYTES = 16L << 20;
+
+  private static final Class<?>[] TYPES = {boolean.class, byte.class, char.class, short.class,
+      int.class, long.class, float.class, double.class};
+  /** Number of lengths per type past which buckets left empty are dropped. */
+  private static final int MAX_BUCKETS = 256;
+  private static final ThreadLocal<BufferArena> LOCAL = ThreadLocal.withInitial(BufferArena::new);
+
+  private final long maxRetainedBytes;
+  /** Free arrays of each type in {@link #TYPES}, by length. */
+  private final Buckets[] buckets = new Buckets[TYPES.length];
+  private long retainedBytes;
+  private long hits;
+  private long misses;
+
+  /**
+   * Creates an arena that keeps up to {@link #DEFAULT_MAX_RETAINED_BYTES} bytes.
+   */
+  public BufferArena() {
+    this(DEFAULT_MAX_RETAINED_BYTES);
+  }
+
+  /**
+   * Creates an arena that keeps up to {@code maxRetainedBytes} bytes of released arrays.
+   *
+   * @param maxRetainedBytes Greatest number of bytes kept
+   */
+  public BufferArena(long maxRetainedBytes) {
+    if (maxRetainedBytes < 0) {
+      throw new IllegalArgumentException("Negative byte limit: " + maxRetainedBytes);
+    }
+    this.maxRetainedBytes = maxRetainedBytes;
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Buckets();
+    }
+  }
+
+  /**
+   * Returns the calling thread's arena, created on first use with the default byte limit.
+   *
+   * @return Arena of the current thread
+   */
+  public static BufferArena local() {
+    return LOCAL.get();
+  }
+
+  /**
+   * Returns an {@code int} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public int[] intArray(int length) {
+    return (int[]) acquire(4, length);
+  }
+
+  /**
+   * Returns a {@code long} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public long[] longArray(int length) {
+    return (long[]) acquire(5, length);
+  }
+
+  /**
+   * Returns a {@code double} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public double[] doubleArray(int length) {
+    return (double[]) acquire(7, length);
+  }
+
+  /**
+   * Returns a {@code float} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public float[] floatArray(int length) {
+    return (float[]) acquire(6, length);
+  }
+
+  /**
+   * Returns a {@code short} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public short[] shortArray(int length) {
+    return (short[]) acquire(3, length);
+  }
+
+  /**
+   * Returns a {@code byte} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public byte[] byteArray(int length) {
+    return (byte[]) acquire(1, length);
+  }
+
+  /**
+   * Returns a {@code char} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public char[] charArray(int length) {
+    return (char[]) acquire(2, length);
+  }
+
+  /**
+   * Returns a {@code boolean} array of {@code length} elements, reused if one was released.
+   *
+   * @param length Array length
+   * @return Array, not cleared
+   */
+  public boolean[] booleanArray(int length) {
+    return (boolean[]) acquire(0, length);
+  }
+
+  private Object acquire(int type, int length) {
+    if (length < 0) {
+      throw new NegativeArraySizeException(String.valueOf(length));
+    }
+    ArrayDeque<Object> bucket = buckets[type].get(length);
+    if (bucket != null && !bucket.isEmpty()) {
+      hits++;
+      retainedBytes -= bytes(type, length);
+      return bucket.pop();
+    }
+    misses++;
+    return Array.newInstance(TYPES[type], length);
+  }
+
+  /**
+   * Hands {@code array} back for reuse. It must not be used by the caller afterwards.
+   * <p>
+   * The array is kept only while the arena holds no more than {@link #maxRetainedBytes()} bytes.
+   * An array must be released at most once per time it is handed out, or later calls may share
+   * it.
+   * </p>
+   *
+   * @param array Primitive array
+   * @throws IllegalArgumentException if {@code array} is not an array of primitives
+   */
+  public void release(Object array) {
+    int type = typeOf(array);
+    int length = Array.getLength(array);
+    long bytes = bytes(type, length);
+    if (retainedBytes + bytes > maxRetainedBytes) {
+      return;
+    }
+    Buckets byLength = buckets[type];
+    ArrayDeque<Object> bucket = byLength.get(length);
+    if (bucket == null) {
+      if (byLength.size() >= MAX_BUCKETS) {
+        // Forget the lengths no longer held, so varied shapes do not grow the table without bound
+        byLength.removeEmpty();
+      }
+      bucket = new ArrayDeque<>();
+      byLength.put(length, bucket);
+    }
+    bucket.push(array);
+    retainedBytes += bytes;
+  }
+
+  /**
+   * Hands every array of {@code arrays} back for reuse, such as the List of columns returned by a
+   * {@code transpose} overload that takes an arena.
+   *
+   * @param arrays Primitive arrays
+   * @throws IllegalArgumentException if an element is not an array of primitives
+   */
+  public void releaseAll(Collection<?> arrays) {
+    for (Object array : arrays) {
+      release(array);
+    }
+  }
+
+  private static int typeOf(Object array) {
+    if (array != null) {
+      for (int i = 0; i < TYPES.length; i++) {
+        if (array.getClass().getComponentType() == TYPES[i]) {
+          return i;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Not a primitive array: " + array);
+  }
+
+  private static long bytes(int type, int length) {
+    return (long) length * PrimitiveBuffer.elementBytes(TYPES[type]);
+  }
+
+  /**
+   * Drops every array the arena holds. The counters are kept.
+   */
+  public void clear() {
+    for (Buckets bucket : buckets) {
+      bucket.clear();
+    }
+    retainedBytes = 0;
+  }
+
+  /**
+   * Returns the greatest number of bytes the arena keeps.
+   *
+   * @return Byte limit
+   */
+  public long maxRetainedBytes() {
+    return maxRetainedBytes;
+  }
+
+  /**
+   * Returns the number of bytes of the arrays the arena holds.
+   *
+   * @return Retained bytes
+   */
+  public long retainedBytes() {
+    return retainedBytes;
+  }
+
+  /**
+   * Returns the number of arrays handed out that were reused.
+   *
+   * @return Hit count
+   */
+  public long hits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of arrays handed out that had to be allocated.
+   *
+   * @return Miss count
+   */
+  public long misses() {
+    return misses;
+  }
+
+  @Override
+  public String toString() {
+    return "BufferArena[hits=" + hits + ", misses=" + misses + ", retainedBytes=" + retainedBytes
+        + "/" + maxRetainedBytes + "]";
+  }
+
+  /**
+   * Open-addressed table of buckets keyed by array length, probed linearly. Keys are kept as
+   * {@code int}s, so lookups box nothing.
+   */
+  private static final class Buckets {
+
+    /** Key of an empty slot; array lengths are never negative. */
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private ArrayDeque<Object>[] values;
+    private int size;
+
+    Buckets() {
+      allocate(16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+      keys = new int[capacity];
+      Arrays.fill(keys, FREE);
+      values = new ArrayDeque[capacity];
+      size = 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    ArrayDeque<Object> get(int length) {
+      int mask = keys.length - 1;
+      for (int i = slot(length, mask); keys[i] != FREE; i = i + 1 & mask) {
+        if (keys[i] == length) {
+          return values[i];
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Adds {@code bucket} for {@code length}, which must not have one yet.
+     */
+    void put(int length, ArrayDeque<Object> bucket) {
+      if (size + 1 > keys.length >>> 1) {
+        rehash(keys.length << 1, false);
+      }
+      insert(length, bucket);
+    }
+
+    /**
+     * Drops the buckets that hold no array.
+     */
+    void removeEmpty() {
+      rehash(keys.length, true);
+    }
+
+    void clear() {
+      Arrays.fill(keys, FREE);
+      Arrays.fill(values, null);
+      size = 0;
+    }
+
+    private void rehash(int capacity, boolean dropEmpty) {
+      int[] oldKeys = keys;
+      ArrayDeque<Object>[] oldValues = values;
+      allocate(capacity);
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != FREE && !(dropEmpty && oldValues[i].isEmpty())) {
+          insert(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+
+    private void insert(int length, ArrayDeque<Object> bucket) {
+      int mask = keys.length - 1;
+      int i = slot(length, mask);
+      while (keys[i] != FREE) {
+        i = i + 1 & mask;
+      }
+      keys[i] = length;
+      values[i] = bucket;
+      size++;
+    }
+
+    private static int slot(int length, int mask) {
+      int hash = length * 0x9E3779B9;
+      return (hash ^ hash >>> 16) & mask;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package listutils;
+
+import java.util.Iterator;
+
+/**
+ * Extracts the elements of a container type while flattening.
+ * <p>
+ * Lists and arrays of objects are expanded by {@link ListUtility#flatten(java.util.List)} out of
+ * the box. Handlers registered with {@link Containers#register(Class, ContainerHandler)} let it
+ * expand other types too, such as sets, {@code Optional}s or domain-specific containers, without
+ * first copying them into Lists.
+ * </p>
+ *
+ * @param <C> Container class identifier
+ * @since 1.5.0
+ */
+@FunctionalInterface
+public interface ContainerHandler<C> {
+
+  /**
+   * Returns an iterator over the elements of {@code container}, in the order they should appear
+   * in the flattened List. Flattening may call this more than once for the same container, and
+   * expects the same elements each time.
+   *
+   * @param container Container to expand
+   * @return Iterator over its elements
+   */
+  Iterator<?> elements(C container);
+}
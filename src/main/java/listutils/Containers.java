@@ -0,0 +1,254 @@
+package listutils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Registry of the types expanded while flattening, and cached per-class dispatch.
+ * <p>
+ * Flattening and transposing decide how to treat each element from its class: whether it is a
+ * List, an array of objects, an array of a given primitive type, a registered container or a
+ * plain leaf. That decision is computed once per class and cached in a {@link ClassValue}, so
+ * the hot loops do one lookup per element instead of a chain of type tests.
+ * </p>
+ * <p>
+ * Registered handlers take precedence over the built-in treatment of Lists and arrays of
+ * objects, but arrays of primitives are always kept whole, as leaves. A class uses the handler
+ * registered for itself if there is one, and otherwise the most recently registered handler for
+ * one of its supertypes. Registered containers are expanded by
+ * {@link ListUtility#flatten(List)}, {@link ListUtility#flatten(List, int)} and the streaming and
+ * parallel forms built on them; views, which need random access, expand only Lists and arrays.
+ * </p>
+ * <p>
+ * For example, to flatten the sets and {@code Optional}s nested in a List:
+ * </p>
+ * <pre>{@code
+ * Containers.register(Set.class, Set::iterator);
+ * Containers.register(Optional.class, o -> o.isPresent()
+ *     ? Collections.singleton(o.get()).iterator() : Collections.emptyIterator());
+ * }</pre>
+ *
+ * @since 1.5.0
+ */
+public final class Containers {
+
+  private static final Map<Class<?>, ContainerHandler<?>> HANDLERS = new LinkedHashMap<>();
+  private static volatile ClassValue<Dispatch> dispatch = newDispatch();
+
+  private Containers(){}
+
+  /**
+   * Registers {@code handler} to expand elements of {@code type} and its subtypes, replacing any
+   * handler already registered for {@code type}.
+   *
+   * @param <C> Container class identifier
+   * @param type Container type
+   * @param handler Handler extracting the elements of a container
+   * @throws IllegalArgumentException if {@code type} is a primitive or an array of primitives
+   */
+  public static synchronized <C> void register(Class<C> type,
+      ContainerHandler<? super C> handler) {
+    if (type.isPrimitive() || type.isArray() && type.getComponentType().isPrimitive()
+        || handler == null) {
+      throw new IllegalArgumentException("Cannot register " + handler + " for " + type);
+    }
+    HANDLERS.remove(type);
+    HANDLERS.put(type, handler);
+    dispatch = newDispatch();
+  }
+
+  /**
+   * Removes the handler registered for {@code type}, if any. Lists and arrays of objects keep
+   * their built-in treatment.
+   *
+   * @param type Container type
+   * @return Whether a handler was removed
+   */
+  public static synchronized boolean unregister(Class<?> type) {
+    if (HANDLERS.remove(type) == null) {
+      return false;
+    }
+    dispatch = newDispatch();
+    return true;
+  }
+
+  /**
+   * Returns the dispatch for the class of {@code element}, or {@link Dispatch#LEAF} for
+   * {@code null}.
+   */
+  static Dispatch of(Object element) {
+    return element == null ? Dispatch.LEAF : dispatch.get(element.getClass());
+  }
+
+  /**
+   * Returns a fresh cache, so that classes are resolved again against the current handlers.
+   */
+  private static ClassValue<Dispatch> newDispatch() {
+    return new ClassValue<Dispatch>() {
+      @Override
+      protected Dispatch computeValue(Class<?> type) {
+        return resolve(type);
+      }
+    };
+  }
+
+  private static synchronized Dispatch resolve(Class<?> type) {
+    if (type == int[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new int[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new int[0][]),
+              threshold, pool));
+    }
+    if (type == long[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new long[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new long[0][]),
+              threshold, pool));
+    }
+    if (type == double[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new double[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new double[0][]),
+              threshold, pool));
+    }
+    if (type == float[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new float[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new float[0][]),
+              threshold, pool));
+    }
+    if (type == short[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new short[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new short[0][]),
+              threshold, pool));
+    }
+    if (type == byte[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new byte[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new byte[0][]),
+              threshold, pool));
+    }
+    if (type == char[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new char[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new char[0][]),
+              threshold, pool));
+    }
+    if (type == boolean[].class) {
+      return new Dispatch(Kind.PRIMITIVE_ARRAY, null,
+          rows -> ListUtility.transpose(rows.toArray(new boolean[0][])),
+          (rows, threshold, pool) -> ListUtility.parallelTranspose(rows.toArray(new boolean[0][]),
+              threshold, pool));
+    }
+    ContainerHandler<?> handler = HANDLERS.get(type);
+    if (handler == null) {
+      List<Map.Entry<Class<?>, ContainerHandler<?>>> entries =
+          new ArrayList<>(HANDLERS.entrySet());
+      for (int i = entries.size() - 1; i >= 0; i--) {
+        if (entries.get(i).getKey().isAssignableFrom(type)) {
+          handler = entries.get(i).getValue();
+          break;
+        }
+      }
+    }
+    if (handler != null) {
+      return new Dispatch(Kind.CUSTOM, handler, null, null);
+    }
+    if (List.class.isAssignableFrom(type)) {
+      return Dispatch.LIST;
+    }
+    if (type.isArray()) {
+      return Dispatch.ARRAY;
+    }
+    return Dispatch.LEAF;
+  }
+
+  /**
+   * How elements of one class are treated while flattening and transposing.
+   */
+  static final class Dispatch {
+
+    static final Dispatch LEAF = new Dispatch(Kind.LEAF, null, null, null);
+    static final Dispatch LIST = new Dispatch(Kind.LIST, null, null, null);
+    static final Dispatch ARRAY = new Dispatch(Kind.ARRAY, null, null, null);
+
+    final Kind kind;
+    private final ContainerHandler<Object> handler;
+    private final Transposer transposer;
+    private final ParallelTransposer parallelTransposer;
+
+    @SuppressWarnings("unchecked")
+    Dispatch(Kind kind, ContainerHandler<?> handler, Transposer transposer,
+        ParallelTransposer parallelTransposer) {
+      this.kind = kind;
+      this.handler = (ContainerHandler<Object>) handler;
+      this.transposer = transposer;
+      this.parallelTransposer = parallelTransposer;
+    }
+
+    /**
+     * Returns whether elements of this class are expanded while flattening.
+     */
+    boolean expands() {
+      return kind == Kind.LIST || kind == Kind.ARRAY || kind == Kind.CUSTOM;
+    }
+
+    /**
+     * Returns an iterator over the elements of a registered container.
+     */
+    Iterator<?> elements(Object container) {
+      return handler.elements(container);
+    }
+
+    /**
+     * Transposes a List of primitive arrays of this class.
+     */
+    List<?> transpose(List<?> rows) {
+      return transposer.transpose(rows);
+    }
+
+    /**
+     * Transposes a List of primitive arrays of this class in parallel.
+     */
+    List<?> parallelTranspose(List<?> rows, int threshold, ForkJoinPool pool) {
+      return parallelTransposer.transpose(rows, threshold, pool);
+    }
+  }
+
+  /**
+   * Treatment of the elements of one class.
+   */
+  enum Kind {
+    /** Kept as they are. */
+    LEAF,
+    /** Lists, expanded by index. */
+    LIST,
+    /** Arrays of objects, expanded by index. */
+    ARRAY,
+    /** Arrays of primitives, kept as leaves but joined or transposed by type. */
+    PRIMITIVE_ARRAY,
+    /** Registered containers, expanded by their handler. */
+    CUSTOM
+  }
+
+  /**
+   * Transposition of a List of primitive arrays of one type.
+   */
+  @FunctionalInterface
+  interface Transposer {
+    List<?> transpose(List<?> rows);
+  }
+
+  /**
+   * Parallel transposition of a List of primitive arrays of one type.
+   */
+  @FunctionalInterface
+  interface ParallelTransposer {
+    List<?> transpose(List<?> rows, int threshold, ForkJoinPool pool);
+  }
+}
@@ -0,0 +1,296 @@
+package listutils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dense matrix of {@code double} values held in a single array.
+ * <p>
+ * Element (<i>i</i>, <i>j</i>) is found at {@code offset + i * rowStride + j * columnStride} of
+ * the backing array. A new matrix is laid out row by row, but because the layout is described by
+ * strides, {@link #transpose()} can return a view that swaps them instead of copying any element.
+ * {@link #materialize()} copies a matrix into a new compact row-major array when that is wanted.
+ * </p>
+ * <p>
+ * Matrices convert to and from the arrays of rows taken by
+ * {@link ListUtility#transpose(double[][])} and the single flat array produced by
+ * {@link ListUtility#flatten(double[][])}.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class DoubleMatrix {
+
+  /** Side length of the square blocks copied by {@link #materialize()}. */
+  private static final int TILE = 32;
+
+  private final double[] data;
+  private final int offset;
+  private final int rows;
+  private final int columns;
+  private final int rowStride;
+  private final int columnStride;
+
+  private DoubleMatrix(double[] data, int offset, int rows, int columns, int rowStride,
+      int columnStride) {
+    this.data = data;
+    this.offset = offset;
+    this.rows = rows;
+    this.columns = columns;
+    this.rowStride = rowStride;
+    this.columnStride = columnStride;
+  }
+
+  /**
+   * Creates a {@code rows}-by-{@code columns} matrix of zeroes.
+   *
+   * @param rows Number of rows
+   * @param columns Number of columns
+   */
+  public DoubleMatrix(int rows, int columns) {
+    this(new double[checkedSize(rows, columns)], 0, rows, columns, columns, 1);
+  }
+
+  /**
+   * Returns a matrix backed by the row-major array {@code data}, without copying it.
+   * <p>
+   * This accepts the array held by the List that {@link ListUtility#flatten(double[][])} returns.
+   * </p>
+   *
+   * @param data Row-major elements
+   * @param rows Number of rows
+   * @param columns Number of columns
+   * @return New matrix
+   * @throws IllegalArgumentException if {@code data} does not hold exactly
+   *     {@code rows * columns} elements
+   */
+  public static DoubleMatrix wrap(double[] data, int rows, int columns) {
+    if (data.length != checkedSize(rows, columns)) {
+      throw new IllegalArgumentException("Expected " + rows + " * " + columns
+          + " elements, but found " + data.length);
+    }
+    return new DoubleMatrix(data, 0, rows, columns, columns, 1);
+  }
+
+  /**
+   * Returns a row-major matrix view of {@code rows * columns} elements of {@code data} from
+   * {@code offset} on.
+   */
+  static DoubleMatrix view(double[] data, int offset, int rows, int columns) {
+    return new DoubleMatrix(data, offset, rows, columns, columns, 1);
+  }
+
+  /**
+   * Returns a new matrix holding a copy of {@code original}, one array per row.
+   *
+   * @param original Rows of equal length
+   * @return New matrix
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static DoubleMatrix of(double[][] original) {
+    int columns = original.length == 0 ? 0 : original[0].length;
+    DoubleMatrix matrix = new DoubleMatrix(original.length, columns);
+    for (int i = 0; i < original.length; i++) {
+      if (original[i].length != columns) {
+        throw new IllegalArgumentException("Row " + i + " has " + original[i].length
+            + " elements, but row 0 has " + columns);
+      }
+      System.arraycopy(original[i], 0, matrix.data, i * columns, columns);
+    }
+    return matrix;
+  }
+
+  /**
+   * Returns a new matrix holding a copy of {@code original}, one array per row.
+   * <p>
+   * This accepts the List that {@link ListUtility#transpose(double[][])} returns.
+   * </p>
+   *
+   * @param original Rows of equal length
+   * @return New matrix
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static DoubleMatrix of(List<double[]> original) {
+    return of(original.toArray(new double[0][]));
+  }
+
+  private static int checkedSize(int rows, int columns) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Negative dimension: " + rows + " by " + columns);
+    }
+    long size = (long) rows * columns;
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Matrix of " + rows + " by " + columns
+          + " exceeds " + Integer.MAX_VALUE + " elements");
+    }
+    return (int) size;
+  }
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return Number of rows
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns.
+   *
+   * @return Number of columns
+   */
+  public int columns() {
+    return columns;
+  }
+
+  /**
+   * Returns the element at row {@code i}, column {@code j}.
+   *
+   * @param i Row index
+   * @param j Column index
+   * @return Element
+   */
+  public double get(int i, int j) {
+    return data[index(i, j)];
+  }
+
+  /**
+   * Replaces the element at row {@code i}, column {@code j}. The change is visible through every
+   * matrix sharing the same backing array, such as transposed views.
+   *
+   * @param i Row index
+   * @param j Column index
+   * @param value New element
+   */
+  public void set(int i, int j, double value) {
+    data[index(i, j)] = value;
+  }
+
+  private int index(int i, int j) {
+    if (i < 0 || i >= rows || j < 0 || j >= columns) {
+      throw new IndexOutOfBoundsException("Index: (" + i + ", " + j + "), Size: " + rows + " by "
+          + columns);
+    }
+    return offset + i * rowStride + j * columnStride;
+  }
+
+  /**
+   * Returns the transposition of this matrix as a view of the same backing array.
+   * <p>
+   * No element is copied: the view swaps the row and column strides.
+   * </p>
+   *
+   * @return Transposed view
+   */
+  public DoubleMatrix transpose() {
+    return new DoubleMatrix(data, offset, columns, rows, columnStride, rowStride);
+  }
+
+  /**
+   * Returns whether this matrix is laid out row by row with no gaps, so that its backing array can
+   * be used as a flat array directly.
+   *
+   * @return Whether the matrix is compact and row-major
+   */
+  public boolean isCompact() {
+    return offset == 0 && data.length == rows * columns
+        && (columnStride == 1 || columns <= 1) && (rowStride == columns || rows <= 1);
+  }
+
+  /**
+   * Returns a new compact row-major copy of this matrix.
+   * <p>
+   * Views with swapped strides are copied in square blocks, so that reads and writes stay in
+   * cache together.
+   * </p>
+   *
+   * @return Compact copy
+   */
+  public DoubleMatrix materialize() {
+    DoubleMatrix copy = new DoubleMatrix(rows, columns);
+    double[] target = copy.data;
+    if (columnStride == 1) {
+      for (int i = 0; i < rows; i++) {
+        System.arraycopy(data, offset + i * rowStride, target, i * columns, columns);
+      }
+      return copy;
+    }
+    for (int rowTile = 0; rowTile < rows; rowTile += TILE) {
+      int rowEnd = Math.min(rowTile + TILE, rows);
+      for (int columnTile = 0; columnTile < columns; columnTile += TILE) {
+        int columnEnd = Math.min(columnTile + TILE, columns);
+        for (int i = rowTile; i < rowEnd; i++) {
+          int source = offset + i * rowStride + columnTile * columnStride;
+          for (int j = columnTile; j < columnEnd; j++, source += columnStride) {
+            target[i * columns + j] = data[source];
+          }
+        }
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * Returns the elements row by row in one array, as {@link ListUtility#flatten(double[][])}
+   * would. The backing array itself is returned when the matrix is compact.
+   *
+   * @return Row-major elements
+   */
+  public double[] toFlatArray() {
+    return isCompact() ? data : materialize().data;
+  }
+
+  /**
+   * Returns a copy of row {@code i}.
+   *
+   * @param i Row index
+   * @return Row elements
+   */
+  public double[] row(int i) {
+    double[] row = new double[columns];
+    for (int j = 0; j < columns; j++) {
+      row[j] = get(i, j);
+    }
+    return row;
+  }
+
+  /**
+   * Returns a copy of column {@code j}.
+   *
+   * @param j Column index
+   * @return Column elements
+   */
+  public double[] column(int j) {
+    return transpose().row(j);
+  }
+
+  /**
+   * Returns a new array of the rows of this matrix.
+   *
+   * @return Array of rows
+   */
+  public double[][] toArray() {
+    DoubleMatrix compact = isCompact() ? this : materialize();
+    double[][] array = new double[rows][columns];
+    for (int i = 0; i < rows; i++) {
+      System.arraycopy(compact.data, i * columns, array[i], 0, columns);
+    }
+    return array;
+  }
+
+  /**
+   * Returns a new List of the rows of this matrix, in the form that
+   * {@link ListUtility#transpose(double[][])} returns.
+   *
+   * @return List of rows
+   */
+  public List<double[]> toList() {
+    double[][] array = toArray();
+    List<double[]> list = new ArrayList<>(rows);
+    for (double[] row : array) {
+      list.add(row);
+    }
+    return list;
+  }
+}
@@ -0,0 +1,279 @@
+package listutils;
+
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <i>n</i>-dimensional view of {@code double} values laid out row-major in a single array.
+ * <p>
+ * A tensor gives a flat array, such as the one {@link ListUtility#flatten(double[][])} returns,
+ * back its shape without copying it. Element (<i>i</i><sub>0</sub>, ..., <i>i</i><sub>n-1</sub>)
+ * is found at {@code offset + i0 * stride0 + ... + in-1}, where each stride is the product of the
+ * dimensions after it. {@link #slice(int)}, {@link #rows()}, {@link #reshape(int...)},
+ * {@link #asBuffer()} and {@link #asMatrix()} are views of the same array too, so writes through
+ * any of them are visible through all of them.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class DoubleTensor {
+
+  private final double[] data;
+  private final int offset;
+  private final int[] shape;
+  private final int size;
+
+  private DoubleTensor(double[] data, int offset, int[] shape, int size) {
+    this.data = data;
+    this.offset = offset;
+    this.shape = shape;
+    this.size = size;
+  }
+
+  /**
+   * Returns a tensor of the given {@code shape} backed by the row-major array {@code data},
+   * without copying it.
+   * <p>
+   * One dimension may be given as -1, in which case it is inferred from the length of
+   * {@code data}.
+   * </p>
+   *
+   * @param data Row-major elements
+   * @param shape Length of each dimension, at least one
+   * @return Tensor view
+   * @throws IllegalArgumentException if {@code data} does not hold exactly as many elements as
+   *     the shape
+   */
+  public static DoubleTensor wrap(double[] data, int... shape) {
+    return wrap(data, 0, data.length, shape);
+  }
+
+  private static DoubleTensor wrap(double[] data, int offset, int length, int... shape) {
+    if (shape.length == 0) {
+      throw new IllegalArgumentException("Shape has no dimensions");
+    }
+    int[] dimensions = shape.clone();
+    int inferred = -1;
+    long size = 1;
+    for (int k = 0; k < dimensions.length; k++) {
+      if (dimensions[k] == -1 && inferred < 0) {
+        inferred = k;
+      } else if (dimensions[k] < 0) {
+        throw new IllegalArgumentException("Invalid shape: " + Arrays.toString(shape));
+      } else {
+        size *= dimensions[k];
+        if (size > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Shape " + Arrays.toString(shape) + " exceeds "
+              + Integer.MAX_VALUE + " elements");
+        }
+      }
+    }
+    if (inferred >= 0) {
+      if (size == 0 || length % size != 0) {
+        throw new IllegalArgumentException("Cannot fit " + length + " elements to shape "
+            + Arrays.toString(shape));
+      }
+      dimensions[inferred] = (int) (length / size);
+      size = length;
+    }
+    if (size != length) {
+      throw new IllegalArgumentException("Expected " + size + " elements for shape "
+          + Arrays.toString(shape) + ", but found " + length);
+    }
+    return new DoubleTensor(data, offset, dimensions, length);
+  }
+
+  /**
+   * Returns the number of dimensions.
+   *
+   * @return Rank
+   */
+  public int rank() {
+    return shape.length;
+  }
+
+  /**
+   * Returns the length of each dimension.
+   *
+   * @return Copy of the shape
+   */
+  public int[] shape() {
+    return shape.clone();
+  }
+
+  /**
+   * Returns the length of dimension {@code axis}.
+   *
+   * @param axis Dimension index
+   * @return Length of the dimension
+   */
+  public int dimension(int axis) {
+    return shape[axis];
+  }
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return Number of elements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at {@code index}, one index per dimension.
+   *
+   * @param index Index along each dimension
+   * @return Element
+   */
+  public double get(int... index) {
+    return data[position(index)];
+  }
+
+  /**
+   * Replaces the element at {@code index}, one index per dimension. The change is visible through
+   * every view of the same array.
+   *
+   * @param index Index along each dimension
+   * @param value New element
+   */
+  public void set(int[] index, double value) {
+    data[position(index)] = value;
+  }
+
+  private int position(int[] index) {
+    if (index.length != shape.length) {
+      throw new IllegalArgumentException("Expected " + shape.length + " indices, but found "
+          + index.length);
+    }
+    int position = 0;
+    for (int k = 0; k < shape.length; k++) {
+      if (index[k] < 0 || index[k] >= shape[k]) {
+        throw new IndexOutOfBoundsException("Index: " + Arrays.toString(index) + ", Shape: "
+            + Arrays.toString(shape));
+      }
+      position = position * shape[k] + index[k];
+    }
+    return offset + position;
+  }
+
+  /**
+   * Returns element {@code i} of the first dimension, as a view of one rank fewer.
+   *
+   * @param i Index along the first dimension
+   * @return Sub-tensor view
+   * @throws IllegalStateException if this tensor has a single dimension
+   */
+  public DoubleTensor slice(int i) {
+    if (shape.length < 2) {
+      throw new IllegalStateException("Cannot slice a tensor of one dimension");
+    }
+    if (i < 0 || i >= shape[0]) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + shape[0]);
+    }
+    int length = shape[0] == 0 ? 0 : size / shape[0];
+    return new DoubleTensor(data, offset + i * length, Arrays.copyOfRange(shape, 1, shape.length),
+        length);
+  }
+
+  /**
+   * Returns the rows of this tensor as views of the elements along its last dimension, in
+   * row-major order. This is the inverse of {@link ListUtility#flatten(double[][])}, without
+   * copying.
+   *
+   * @return Fixed-size List of row views
+   */
+  public List<DoubleBuffer> rows() {
+    int rows = 1;
+    for (int k = 0; k < shape.length - 1; k++) {
+      rows *= shape[k];
+    }
+    return new Rows(data, offset, rows, shape[shape.length - 1]);
+  }
+
+  /**
+   * Returns a view of the same elements in a different shape. One dimension may be given as -1,
+   * in which case it is inferred.
+   *
+   * @param shape Length of each dimension, at least one
+   * @return Tensor view
+   * @throws IllegalArgumentException if the shape does not hold exactly {@link #size()} elements
+   */
+  public DoubleTensor reshape(int... shape) {
+    return wrap(data, offset, size, shape);
+  }
+
+  /**
+   * Returns the elements as a buffer over the same array, positioned at the first element.
+   *
+   * @return Buffer view
+   */
+  public DoubleBuffer asBuffer() {
+    return DoubleBuffer.wrap(data, offset, size).slice();
+  }
+
+  /**
+   * Returns this tensor as a matrix view of the same array.
+   *
+   * @return Matrix view
+   * @throws IllegalStateException if this tensor does not have two dimensions
+   */
+  public DoubleMatrix asMatrix() {
+    if (shape.length != 2) {
+      throw new IllegalStateException("Expected 2 dimensions, but found " + shape.length);
+    }
+    return DoubleMatrix.view(data, offset, shape[0], shape[1]);
+  }
+
+  /**
+   * Returns the elements in one row-major array. The backing array itself is returned when this
+   * tensor covers all of it.
+   *
+   * @return Row-major elements
+   */
+  public double[] toFlatArray() {
+    if (offset == 0 && size == data.length) {
+      return data;
+    }
+    return Arrays.copyOfRange(data, offset, offset + size);
+  }
+
+  @Override
+  public String toString() {
+    return "DoubleTensor" + Arrays.toString(shape);
+  }
+
+  /**
+   * Rows of equal length laid out one after another in an array, each viewed as a buffer.
+   */
+  private static final class Rows extends AbstractList<DoubleBuffer> implements RandomAccess {
+
+    private final double[] data;
+    private final int offset;
+    private final int rows;
+    private final int columns;
+
+    Rows(double[] data, int offset, int rows, int columns) {
+      this.data = data;
+      this.offset = offset;
+      this.rows = rows;
+      this.columns = columns;
+    }
+
+    @Override
+    public DoubleBuffer get(int index) {
+      if (index < 0 || index >= rows) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rows);
+      }
+      return DoubleBuffer.wrap(data, offset + index * columns, columns).slice();
+    }
+
+    @Override
+    public int size() {
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package listutils;
+
+/**
+ * Reporter of instrumented calls as Flight Recorder events.
+ * <p>
+ * The only implementation, {@code JfrEventRecorder}, needs Java 11 and is compiled separately.
+ * {@link Instrumentation} loads it by name, so the library itself runs without {@code jdk.jfr}.
+ * </p>
+ */
+interface EventRecorder {
+
+  /**
+   * Returns a started event for a call beginning now.
+   */
+  Object begin();
+
+  /**
+   * Ends {@code event} and commits it if it is enabled and over its threshold.
+   */
+  void end(Object event, Instrumentation.Operation operation, long elements, long allocated,
+      int depth);
+}
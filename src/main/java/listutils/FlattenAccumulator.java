@@ -0,0 +1,132 @@
+package listutils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free collector of nested chunks from many threads, flattened when drained.
+ * <p>
+ * Producer threads {@link #add(Object)} Lists, arrays or any other elements, and a consumer
+ * takes everything added so far with {@link #drain()}, flattened as by
+ * {@link ListUtility#flatten(List, int)}. Chunks are not copied when they are added: each is
+ * pushed with a single compare-and-set onto one of several stripes, picked from the adding
+ * thread, so producers rarely contend. Draining takes each stripe with one atomic swap and copies
+ * the leaves of every chunk once, into a List presized to hold them. As with {@code flatten}, if
+ * every leaf is an array of the same primitive type, they are joined into a single array.
+ * </p>
+ * <p>
+ * The chunks added by one thread are drained in the order they were added. Chunks added by
+ * different threads come out in no particular order. Chunks must not be changed once added,
+ * until they are drained.
+ * </p>
+ *
+ * @param <R> Leaf class identifier
+ * @since 1.5.0
+ */
+public final class FlattenAccumulator<R> {
+
+  /** Slots between two stripes, so that stripes do not share a cache line. */
+  private static final int SPACING = 16;
+
+  private final int level;
+  private final int mask;
+  private final AtomicReferenceArray<Node> stripes;
+
+  /**
+   * Creates an accumulator that flattens chunks without a level limit.
+   */
+  public FlattenAccumulator() {
+    this(-1);
+  }
+
+  /**
+   * Creates an accumulator that flattens chunks to at most {@code level} levels, counting the
+   * chunks themselves as the first, as {@link ListUtility#flatten(List, int)} would on a List of
+   * the chunks. A negative {@code level} flattens without limit, and 0 drains the chunks as they
+   * are.
+   *
+   * @param level Level of recursion to flatten
+   */
+  public FlattenAccumulator(int level) {
+    this.level = level;
+    int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()));
+    count = Math.min(count * 2, 1 << 10);
+    this.mask = count - 1;
+    this.stripes = new AtomicReferenceArray<>(count * SPACING);
+  }
+
+  /**
+   * Adds {@code chunk}, to be flattened on the next {@link #drain()}. Never blocks.
+   *
+   * @param chunk List, array or element to add
+   */
+  public void add(Object chunk) {
+    int index = stripe() * SPACING;
+    Node node = new Node(chunk);
+    Node head;
+    do {
+      head = stripes.get(index);
+      node.next = head;
+    } while (!stripes.compareAndSet(index, head, node));
+  }
+
+  /**
+   * Returns whether nothing has been added since the last {@link #drain()}. The answer may be out
+   * of date as soon as it is returned if other threads are adding.
+   *
+   * @return Whether the accumulator is empty
+   */
+  public boolean isEmpty() {
+    for (int i = 0; i < stripes.length(); i += SPACING) {
+      if (stripes.get(i) != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes every chunk added so far and returns their leaves, flattened. Chunks added while
+   * draining are left for the next call.
+   *
+   * @return Flattened list, a new List owned by the caller
+   */
+  public List<R> drain() {
+    List<Object> chunks = new ArrayList<>();
+    for (int i = 0; i < stripes.length(); i += SPACING) {
+      Node head = stripes.getAndSet(i, null);
+      // Each stripe is a stack, so its chunks are reversed back into the order they were added
+      int end = chunks.size();
+      for (Node node = head; node != null; node = node.next) {
+        chunks.add(node.chunk);
+      }
+      for (int low = end, high = chunks.size() - 1; low < high; low++, high--) {
+        chunks.set(low, chunks.set(high, chunks.get(low)));
+      }
+    }
+    return FlattenEngine.flatten(chunks, level);
+  }
+
+  /**
+   * Returns the stripe of the calling thread, always the same for a thread.
+   */
+  private int stripe() {
+    long id = Thread.currentThread().getId();
+    int hash = (int) (id ^ id >>> 32) * 0x9E3779B9;
+    return (hash ^ hash >>> 16) & mask;
+  }
+
+  /**
+   * Chunk on a stripe, linked to the chunk added before it.
+   */
+  private static final class Node {
+
+    private final Object chunk;
+    private Node next;
+
+    Node(Object chunk) {
+      this.chunk = chunk;
+    }
+  }
+}
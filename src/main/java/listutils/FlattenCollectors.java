@@ -0,0 +1,85 @@
+package listutils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
+
+/**
+ * Collectors behind {@link ListUtility#flattening(int)} and the {@code flatteningTo...Array}
+ * methods.
+ * <p>
+ * Stream elements are gathered by reference into {@link Chunks}, and only flattened by the
+ * finisher, so each leaf is copied once. Partial results of a parallel stream are merged by
+ * linking their segments, without copying any element.
+ * </p>
+ */
+final class FlattenCollectors {
+
+  private FlattenCollectors(){}
+
+  /**
+   * Returns a Collector that flattens the collected elements to at most {@code level} levels, as
+   * {@link FlattenEngine#flatten(List, int)} would on a List of them.
+   */
+  static <R> Collector<Object, ?, List<R>> flattening(int level) {
+    // The segments add one level above the elements
+    int segmentLevel = level < 0 || level == Integer.MAX_VALUE ? -1 : level + 1;
+    return Collector.of(Chunks::new, Chunks::add, Chunks::merge,
+        chunks -> FlattenEngine.flatten(chunks.segments, segmentLevel));
+  }
+
+  /**
+   * Returns a Collector that joins the collected primitive arrays with {@code join}, given them
+   * as an array made by {@code rows}.
+   */
+  static <A> Collector<A, ?, A> arrays(IntFunction<A[]> rows, Function<A[], A> join) {
+    return Collector.of(Chunks<A>::new, Chunks::add, Chunks::merge,
+        chunks -> join.apply(chunks.toArray(rows)));
+  }
+
+  /**
+   * Elements gathered in order, in segments that are linked rather than copied when merged.
+   */
+  static final class Chunks<E> {
+
+    final List<List<E>> segments = new ArrayList<>();
+    private List<E> last;
+    private int size;
+
+    void add(E element) {
+      if (last == null) {
+        last = new ArrayList<>();
+        segments.add(last);
+      }
+      last.add(element);
+      size++;
+    }
+
+    Chunks<E> merge(Chunks<E> other) {
+      if (other.size == 0) {
+        return this;
+      }
+      if (size == 0) {
+        return other;
+      }
+      segments.addAll(other.segments);
+      // Further elements go after those of other, which is no longer used
+      last = other.last;
+      size += other.size;
+      return this;
+    }
+
+    E[] toArray(IntFunction<E[]> generator) {
+      E[] array = generator.apply(size);
+      int offset = 0;
+      for (List<E> segment : segments) {
+        for (E element : segment) {
+          array[offset++] = element;
+        }
+      }
+      return array;
+    }
+  }
+}
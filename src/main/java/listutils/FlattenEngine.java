@@ -0,0 +1,375 @@
+package listutils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Flattening of nested Lists and arrays without a copy per level.
+ * <p>
+ * The nested structure is walked with an explicit work stack rather than by recursion, so deep
+ * inputs cannot overflow the call stack and no intermediate List is built per level. The
+ * structure is walked twice: once to count the leaves, so the output can be presized, and once to
+ * write each leaf to the output exactly once.
+ * </p>
+ * <p>
+ * Every element is inspected on its own, so Lists and arrays may be mixed freely at any level.
+ * How an element is treated is looked up by its class through {@link Containers}, so container
+ * types registered there are expanded as well.
+ * </p>
+ */
+final class FlattenEngine {
+
+  /**
+   * Level used when flattening should continue until no Lists or arrays remain.
+   */
+  static final int UNLIMITED = Integer.MAX_VALUE;
+
+  /**
+   * Marker returned by a traversal when the container on top of the stack, or the whole
+   * structure, is exhausted.
+   */
+  static final Object END = new Object();
+
+  private FlattenEngine(){}
+
+  /**
+   * Returns whether {@code element} is a List, an array of objects or a registered container,
+   * i.e. something whose elements are extracted while flattening.
+   *
+   * @param element Element to test
+   * @return Whether the element is expanded
+   */
+  static boolean isContainer(Object element) {
+    return Containers.of(element).expands();
+  }
+
+  /**
+   * Returns whether {@code element} is an array of primitives.
+   *
+   * @param element Element to test
+   * @return Whether the element is a primitive array
+   */
+  static boolean isPrimitiveArray(Object element) {
+    return Containers.of(element).kind == Containers.Kind.PRIMITIVE_ARRAY;
+  }
+
+  /**
+   * Flattens {@code list} to at most {@code level} levels.
+   * <p>
+   * If no element of {@code list} is a List or array, or {@code level} is 0, {@code list} itself
+   * is returned. If every leaf is an array of the same primitive type, and that array is still
+   * within {@code level}, the leaves are joined into a single array, itself in a single List.
+   * A negative {@code level} flattens without limit.
+   * </p>
+   *
+   * @param <R> Generic return class identifier
+   * @param list Input list
+   * @param level Level of recursion to flatten
+   * @return Flattened list
+   */
+  @SuppressWarnings("unchecked")
+  static <R> List<R> flatten(List<?> list, int level) {
+    if (level == 0 || list.isEmpty()) {
+      return (List<R>) list;
+    }
+    if (level < 0) {
+      level = UNLIMITED;
+    }
+    Instrumentation.Probe probe = Instrumentation.begin();
+    Walk walk = new Walk(level);
+    walk.count(list);
+    List<Object> flat;
+    if (walk.primitiveType != null) {
+      flat = new ArrayList<>(1);
+      flat.add(joinPrimitive(list, level, walk.primitiveType, walk.primitiveLength));
+    } else if (!walk.expanded) {
+      flat = (List<Object>) list;
+    } else {
+      flat = new ArrayList<>(walk.leaves);
+      walk.write(list, flat);
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN,
+          walk.primitiveType != null ? walk.primitiveLength : walk.expanded ? walk.leaves : 0,
+          walk.depth);
+    }
+    return (List<R>) flat;
+  }
+
+  /**
+   * Passes every leaf of {@code list}, flattened to at most {@code level} levels, to
+   * {@code action} in order, until it returns false. Only the stack of Lists and arrays being
+   * walked is kept, so memory use grows with the nesting depth alone. A negative {@code level}
+   * flattens without limit.
+   *
+   * @param list Input list
+   * @param level Level of recursion to flatten
+   * @param action Receiver of each leaf, returning whether to continue
+   * @return Whether every leaf was passed
+   */
+  static boolean each(List<?> list, int level, Predicate<Object> action) {
+    if (level == 0) {
+      for (Object element : list) {
+        if (!action.test(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return new Walk(level < 0 ? UNLIMITED : level).each(list, action);
+  }
+
+  /**
+   * Returns where to divide the elements from {@code from} to {@code to} of a List, given the
+   * number of leaves before each element from {@link Walk#offsets}: the element boundary nearest
+   * the middle leaf, or the middle element if that boundary is at either end.
+   *
+   * @param offsets Number of leaves before each element, followed by the total
+   * @param from First element of the range
+   * @param to End of the range, exclusive, at least {@code from + 2}
+   * @return Index of the first element of the second part
+   */
+  static int split(int[] offsets, int from, int to) {
+    int middle = offsets[from] + ((offsets[to] - offsets[from]) >>> 1);
+    int split = Arrays.binarySearch(offsets, from, to + 1, middle);
+    if (split < 0) {
+      split = -split - 1;
+      if (split > from && middle - offsets[split - 1] < offsets[split] - middle) {
+        split--;
+      }
+    }
+    if (split <= from || split >= to) {
+      split = from + ((to - from) >>> 1);
+    }
+    return split;
+  }
+
+  /**
+   * Joins every primitive array leaf of {@code list} into a single array of {@code length}
+   * elements.
+   */
+  private static Object joinPrimitive(List<?> list, int level, Class<?> type, long length) {
+    if (length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Flattened array would have " + length + " elements");
+    }
+    Object joined = Array.newInstance(type.getComponentType(), (int) length);
+    List<Object> arrays = new ArrayList<>();
+    new Walk(level).write(list, arrays);
+    int offset = 0;
+    for (Object array : arrays) {
+      int arrayLength = Array.getLength(array);
+      System.arraycopy(array, 0, joined, offset, arrayLength);
+      offset += arrayLength;
+    }
+    return joined;
+  }
+
+  /**
+   * Explicit-stack traversal of a nested structure. A walk can be restarted, so one instance can
+   * traverse many structures in turn.
+   */
+  static final class Walk {
+
+    private final int level;
+    private Object[] containers = new Object[16];
+    private Containers.Kind[] kinds = new Containers.Kind[16];
+    private int[] indices = new int[16];
+    private int top;
+
+    /** Number of leaves found by {@link #count}. */
+    private int leaves;
+    /** Whether any container was expanded by {@link #count}. */
+    private boolean expanded;
+    /** Shared class of every leaf, if every leaf is a joinable primitive array. */
+    private Class<?> primitiveType;
+    /** Total length of the primitive array leaves. */
+    private long primitiveLength;
+    /** Greatest number of containers on the stack at once. */
+    private int depth;
+    /** If set, receives the number of leaves found before each element of the root. */
+    private int[] starts;
+
+    Walk(int level) {
+      this.level = level;
+    }
+
+    void count(List<?> list) {
+      boolean joinable = true;
+      int started = 0;
+      start(list);
+      while (top > 0) {
+        if (top == 1 && starts != null && started < starts.length) {
+          starts[started++] = leaves;
+        }
+        Object element = next();
+        if (element == END) {
+          continue;
+        }
+        Containers.Dispatch dispatch = Containers.of(element);
+        if (dispatch.expands() && top <= level) {
+          expanded = true;
+          push(element, dispatch);
+          continue;
+        }
+        if (leaves == Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Flattened list would exceed " + Integer.MAX_VALUE
+              + " elements");
+        }
+        leaves++;
+        if (joinable) {
+          if (top <= level && dispatch.kind == Containers.Kind.PRIMITIVE_ARRAY
+              && (primitiveType == null || primitiveType == element.getClass())) {
+            primitiveType = element.getClass();
+            primitiveLength += Array.getLength(element);
+          } else {
+            joinable = false;
+            primitiveType = null;
+          }
+        }
+      }
+    }
+
+    /**
+     * Counts the leaves of {@code list} as {@link #count} does, returning the number of leaves
+     * before each of its elements, followed by the total.
+     */
+    int[] offsets(List<?> list) {
+      int[] offsets = new int[list.size() + 1];
+      starts = offsets;
+      try {
+        count(list);
+      } finally {
+        starts = null;
+      }
+      offsets[offsets.length - 1] = leaves;
+      return offsets;
+    }
+
+    /**
+     * Returns the class of every leaf found by {@link #count}, if all are arrays of the same
+     * primitive type, or {@code null}.
+     */
+    Class<?> primitiveType() {
+      return primitiveType;
+    }
+
+    void write(List<?> list, List<Object> flat) {
+      each(list, flat::add);
+    }
+
+    /**
+     * Passes every leaf of {@code list} to {@code action} in order, until it returns false.
+     *
+     * @return Whether every leaf was passed
+     */
+    boolean each(List<?> list, Predicate<Object> action) {
+      start(list);
+      for (Object leaf = advance(); leaf != END; leaf = advance()) {
+        if (!action.test(leaf)) {
+          clear();
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Starts walking the elements of {@code root}, a List, an array of objects or a registered
+     * container, abandoning any walk in progress.
+     */
+    void start(Object root) {
+      clear();
+      push(root, root instanceof List<?> ? Containers.Dispatch.LIST : Containers.of(root));
+    }
+
+    /**
+     * Returns the next leaf of the walk, or {@link #END} once it is exhausted.
+     */
+    Object advance() {
+      while (top > 0) {
+        Object element = next();
+        if (element == END) {
+          continue;
+        }
+        Containers.Dispatch dispatch = Containers.of(element);
+        if (dispatch.expands() && top <= level) {
+          push(element, dispatch);
+        } else {
+          return element;
+        }
+      }
+      return END;
+    }
+
+    /**
+     * Abandons the walk, dropping the containers on its stack.
+     */
+    void clear() {
+      Arrays.fill(containers, 0, top, null);
+      top = 0;
+    }
+
+    /**
+     * Pushes {@code container}, or an iterator over it if it is a registered container or a List
+     * without random access.
+     */
+    private void push(Object container, Containers.Dispatch dispatch) {
+      if (top == containers.length) {
+        int capacity = containers.length * 2;
+        containers = Arrays.copyOf(containers, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        indices = Arrays.copyOf(indices, capacity);
+      }
+      if (dispatch.kind == Containers.Kind.CUSTOM) {
+        containers[top] = dispatch.elements(container);
+        kinds[top] = Containers.Kind.CUSTOM;
+      } else if (dispatch.kind == Containers.Kind.LIST && !(container instanceof RandomAccess)) {
+        containers[top] = ((List<?>) container).iterator();
+        kinds[top] = Containers.Kind.CUSTOM;
+      } else {
+        containers[top] = container;
+        kinds[top] = dispatch.kind;
+      }
+      indices[top] = 0;
+      top++;
+      if (top > depth) {
+        depth = top;
+      }
+    }
+
+    /**
+     * Returns the next element of the container on top of the stack, or {@link #END} after
+     * popping it once it is exhausted.
+     */
+    private Object next() {
+      Object container = containers[top - 1];
+      int index = indices[top - 1];
+      Containers.Kind kind = kinds[top - 1];
+      if (kind == Containers.Kind.LIST) {
+        List<?> list = (List<?>) container;
+        if (index < list.size()) {
+          indices[top - 1]++;
+          return list.get(index);
+        }
+      } else if (kind == Containers.Kind.ARRAY) {
+        Object[] array = (Object[]) container;
+        if (index < array.length) {
+          indices[top - 1]++;
+          return array[index];
+        }
+      } else {
+        Iterator<?> iterator = (Iterator<?>) container;
+        if (iterator.hasNext()) {
+          return iterator.next();
+        }
+      }
+      containers[--top] = null;
+      return END;
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package listutils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link Flow.Processor} that flattens each nested item it receives and publishes the leaves one
+ * by one.
+ * <p>
+ * Every item from upstream is flattened as by {@link ListUtility#flattenEach(java.util.List, int,
+ * java.util.function.Consumer)}: Lists, arrays of objects and registered containers are expanded
+ * to at most the given level, and arrays of primitives are published whole. An item that is not
+ * a container is published as it is. As {@code Flow} does not allow {@code null} items,
+ * {@code null} leaves are skipped.
+ * </p>
+ * <p>
+ * Leaves are published only as the subscriber requests them, and the next item is requested from
+ * upstream only once every leaf of the current one has been published. At any time the processor
+ * therefore holds a single item and the stack of containers being walked through it, however
+ * large the items are. Cancelling the subscription cancels upstream.
+ * </p>
+ * <p>
+ * A processor serves one subscriber; later subscribers are sent an
+ * {@link IllegalStateException}. An error from upstream is passed on at once, dropping any leaves
+ * not yet published.
+ * </p>
+ *
+ * @param <T> Upstream item class identifier
+ * @param <R> Leaf class identifier
+ * @since 1.5.0
+ */
+public final class FlattenProcessor<T, R> implements Flow.Processor<T, R> {
+
+  private final FlattenEngine.Walk walk;
+  private final Queue<T> items = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger work = new AtomicInteger();
+  private final AtomicLong requested = new AtomicLong();
+  private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+  private volatile Flow.Subscriber<? super R> downstream;
+  private volatile boolean done;
+  private volatile Throwable error;
+  private volatile boolean cancelled;
+
+  // Only read and written while draining
+  private boolean walking;
+  private Object lone;
+  private boolean awaitingItem;
+  private boolean terminated;
+
+  /**
+   * Creates a processor that flattens each item without a level limit.
+   */
+  public FlattenProcessor() {
+    this(-1);
+  }
+
+  /**
+   * Creates a processor that flattens each item to at most {@code level} levels, as
+   * {@link ListUtility#flatten(java.util.List, int)} would. A negative {@code level} flattens
+   * without limit, and 0 publishes the elements of each item as they are.
+   *
+   * @param level Level of recursion to flatten
+   */
+  public FlattenProcessor(int level) {
+    this.walk = new FlattenEngine.Walk(level < 0 ? FlattenEngine.UNLIMITED : level);
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super R> subscriber) {
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+      subscriber.onError(new IllegalStateException("FlattenProcessor allows only one subscriber"));
+      return;
+    }
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        if (n <= 0) {
+          error = new IllegalArgumentException("Non-positive request: " + n);
+          cancelUpstream();
+        } else {
+          addDemand(n);
+        }
+        drain();
+      }
+
+      @Override
+      public void cancel() {
+        cancelled = true;
+        cancelUpstream();
+        drain();
+      }
+    });
+    downstream = subscriber;
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (!upstream.compareAndSet(null, subscription) || cancelled) {
+      subscription.cancel();
+      return;
+    }
+    drain();
+  }
+
+  @Override
+  public void onNext(T item) {
+    if (item == null) {
+      throw new NullPointerException("Null item");
+    }
+    items.offer(item);
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    if (throwable == null) {
+      throw new NullPointerException("Null error");
+    }
+    error = throwable;
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  private void addDemand(long n) {
+    long current;
+    long next;
+    do {
+      current = requested.get();
+      if (current == Long.MAX_VALUE) {
+        return;
+      }
+      next = current + n < 0 ? Long.MAX_VALUE : current + n;
+    } while (!requested.compareAndSet(current, next));
+  }
+
+  private void cancelUpstream() {
+    Flow.Subscription subscription = upstream.get();
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  /**
+   * Publishes as many leaves as are requested and available, and requests the next item when the
+   * current one is used up. Only one thread drains at a time; a call made while another thread
+   * drains makes that thread go round once more.
+   */
+  @SuppressWarnings("unchecked")
+  private void drain() {
+    if (work.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      Flow.Subscriber<? super R> subscriber = downstream;
+      if (subscriber != null && !terminated) {
+        if (cancelled) {
+          terminate();
+        } else if (error != null) {
+          terminate();
+          subscriber.onError(error);
+        } else {
+          long demand = requested.get();
+          long emitted = 0;
+          while (emitted != demand && !cancelled) {
+            Object leaf = nextLeaf();
+            if (leaf == FlattenEngine.END) {
+              break;
+            }
+            if (leaf != null) {
+              subscriber.onNext((R) leaf);
+              emitted++;
+            }
+          }
+          if (emitted != 0 && demand != Long.MAX_VALUE) {
+            requested.addAndGet(-emitted);
+          }
+          if (done && walking && lone == null && items.isEmpty()) {
+            // Look ahead, so that completion is signalled without waiting for more demand
+            Object leaf;
+            do {
+              leaf = walk.advance();
+            } while (leaf == null);
+            if (leaf == FlattenEngine.END) {
+              walking = false;
+            } else {
+              lone = leaf;
+            }
+          }
+          boolean idle = !walking && lone == null && items.isEmpty();
+          if (idle && !cancelled && error == null) {
+            Flow.Subscription subscription = upstream.get();
+            if (done) {
+              terminate();
+              subscriber.onComplete();
+            } else if (!awaitingItem && subscription != null && requested.get() > 0) {
+              awaitingItem = true;
+              subscription.request(1);
+            }
+          }
+        }
+      }
+      if (terminated) {
+        items.clear();
+      }
+      missed = work.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  /**
+   * Returns the next leaf of the current item, moving on to the next item received, or
+   * {@link FlattenEngine#END} if none is left.
+   */
+  private Object nextLeaf() {
+    while (true) {
+      if (lone != null) {
+        Object leaf = lone;
+        lone = null;
+        return leaf;
+      }
+      if (walking) {
+        Object leaf = walk.advance();
+        if (leaf != FlattenEngine.END) {
+          return leaf;
+        }
+        walking = false;
+      }
+      T item = items.poll();
+      if (item == null) {
+        return FlattenEngine.END;
+      }
+      awaitingItem = false;
+      if (Containers.of(item).expands()) {
+        walk.start(item);
+        walking = true;
+      } else {
+        lone = item;
+      }
+    }
+  }
+
+  private void terminate() {
+    terminated = true;
+    walk.clear();
+    walking = false;
+    lone = null;
+    items.clear();
+  }
+}
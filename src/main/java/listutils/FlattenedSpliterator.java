@@ -0,0 +1,116 @@
+package listutils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of a {@link FlattenedView}.
+ * <p>
+ * The exact size of every part is known, so parallel streams can divide the work evenly. A range
+ * is split at a sublist boundary when one lies near its middle, so that each part touches as few
+ * sublists as possible, and otherwise at the middle offset itself.
+ * </p>
+ *
+ * @param <R> Generic element class identifier
+ */
+final class FlattenedSpliterator<R> implements Spliterator<R> {
+
+  /** Ranges smaller than this are not split. */
+  private static final int MIN_SPLIT = 64;
+
+  private final FlattenedView<R> view;
+  private int index;
+  private final int fence;
+  /** Segment read by {@link #tryAdvance}, and the flat position where it ends. */
+  private int segment;
+  private int segmentEnd;
+  /** Iterator over that segment, if it is read sequentially. */
+  private Iterator<?> cursor;
+
+  FlattenedSpliterator(FlattenedView<R> view, int index, int fence) {
+    this.view = view;
+    this.index = index;
+    this.fence = fence;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean tryAdvance(Consumer<? super R> action) {
+    if (index >= fence) {
+      return false;
+    }
+    if (index >= segmentEnd) {
+      segment = view.segmentOf(index);
+      segmentEnd = view.offsets[segment + 1];
+      Object current = view.segments[segment];
+      cursor = FlattenedView.isSequential(current)
+          ? ((List<?>) current).listIterator(index - view.offsets[segment]) : null;
+    }
+    Object current = view.segments[segment];
+    int position = index++ - view.offsets[segment];
+    action.accept(cursor != null ? (R) cursor.next() : FlattenedView.element(current, position));
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEachRemaining(Consumer<? super R> action) {
+    if (index >= fence) {
+      return;
+    }
+    Object[] segments = view.segments;
+    int[] offsets = view.offsets;
+    int segment = view.segmentOf(index);
+    int position = index;
+    index = fence;
+    while (position < fence) {
+      int end = Math.min(offsets[segment + 1], fence);
+      Object current = segments[segment];
+      if (FlattenedView.isSequential(current)) {
+        Iterator<?> iterator = ((List<?>) current).listIterator(position - offsets[segment]);
+        for (; position < end; position++) {
+          action.accept((R) iterator.next());
+        }
+      } else {
+        for (int i = position - offsets[segment]; position < end; i++, position++) {
+          action.accept(FlattenedView.<R>element(current, i));
+        }
+      }
+      segment++;
+    }
+  }
+
+  @Override
+  public Spliterator<R> trySplit() {
+    int size = fence - index;
+    if (size < MIN_SPLIT) {
+      return null;
+    }
+    int middle = index + (size >>> 1);
+    int segment = view.segmentOf(middle);
+    int[] offsets = view.offsets;
+    int below = offsets[segment];
+    int above = offsets[segment + 1];
+    int split = middle - below <= above - middle ? below : above;
+    if (split <= index || split >= fence || Math.abs(split - middle) > size >>> 2) {
+      split = middle;
+    }
+    FlattenedSpliterator<R> prefix = new FlattenedSpliterator<>(view, index, split);
+    index = split;
+    segmentEnd = 0;
+    cursor = null;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return fence - index;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED;
+  }
+}
@@ -0,0 +1,154 @@
+package listutils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * Read-only List view that presents the elements of a List of Lists and arrays one after another.
+ * <p>
+ * No element is copied. Instead, the start offset of every non-empty sublist is kept, so that
+ * {@link #get(int)} is a binary search over the sublists, and memory use is proportional to the
+ * number of sublists rather than the number of elements.
+ * </p>
+ * <p>
+ * Elements of the outer List that are neither a List nor an array of objects are presented as
+ * themselves. The offsets are computed when the view is created, so the sublists should not change
+ * size while the view is in use.
+ * </p>
+ * <p>
+ * Sublists without random access, such as {@code LinkedList}s, are walked with an iterator by
+ * {@link #iterator()} and by the view's spliterator, so traversal stays linear. Only {@link #get}
+ * reads them by index.
+ * </p>
+ *
+ * @param <R> Generic element class identifier
+ */
+final class FlattenedView<R> extends AbstractList<R> implements RandomAccess {
+
+  /** Non-empty sublists, or lone elements, in order. */
+  final Object[] segments;
+  /** Start offset of each segment, followed by the total size. */
+  final int[] offsets;
+
+  FlattenedView(List<?> list) {
+    Object[] found = new Object[list.size()];
+    int[] starts = new int[list.size() + 1];
+    int count = 0;
+    long size = 0;
+    for (Object element : list) {
+      int length = segmentSize(element);
+      if (length == 0) {
+        continue;
+      }
+      found[count] = element;
+      starts[count] = (int) size;
+      count++;
+      size += length;
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Flattened list would exceed " + Integer.MAX_VALUE
+            + " elements");
+      }
+    }
+    starts[count] = (int) size;
+    segments = count == found.length ? found : Arrays.copyOf(found, count);
+    offsets = count + 1 == starts.length ? starts : Arrays.copyOf(starts, count + 1);
+  }
+
+  private static int segmentSize(Object element) {
+    if (element instanceof List<?>) {
+      return ((List<?>) element).size();
+    }
+    if (element instanceof Object[]) {
+      return ((Object[]) element).length;
+    }
+    return 1;
+  }
+
+  /**
+   * Returns whether {@code segment} is a List that should be read with an iterator rather than by
+   * index.
+   */
+  static boolean isSequential(Object segment) {
+    return segment instanceof List<?> && !(segment instanceof RandomAccess);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <R> R element(Object segment, int index) {
+    if (segment instanceof List<?>) {
+      return ((List<R>) segment).get(index);
+    }
+    if (segment instanceof Object[]) {
+      return ((R[]) segment)[index];
+    }
+    return (R) segment;
+  }
+
+  @Override
+  public R get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+    int segment = segmentOf(index);
+    return element(segments[segment], index - offsets[segment]);
+  }
+
+  /**
+   * Returns the segment that holds flat position {@code index}.
+   */
+  int segmentOf(int index) {
+    int segment = Arrays.binarySearch(offsets, 0, segments.length, index);
+    return segment < 0 ? -segment - 2 : segment;
+  }
+
+  @Override
+  public int size() {
+    return offsets[segments.length];
+  }
+
+  /**
+   * Returns an iterator that walks each sublist in turn, without a search per element.
+   */
+  @Override
+  public Iterator<R> iterator() {
+    return new Iterator<R>() {
+      private int segment;
+      private int index;
+      /** Iterator over the current segment, if it is read sequentially. */
+      private Iterator<?> cursor;
+
+      @Override
+      public boolean hasNext() {
+        return segment < segments.length;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public R next() {
+        if (segment >= segments.length) {
+          throw new NoSuchElementException();
+        }
+        Object current = segments[segment];
+        if (index == 0 && isSequential(current)) {
+          cursor = ((List<?>) current).iterator();
+        }
+        R next = cursor != null ? (R) cursor.next() : element(current, index);
+        if (++index == offsets[segment + 1] - offsets[segment]) {
+          segment++;
+          index = 0;
+          cursor = null;
+        }
+        return next;
+      }
+    };
+  }
+
+  @Override
+  public Spliterator<R> spliterator() {
+    return new FlattenedSpliterator<>(this, 0, size());
+  }
+}
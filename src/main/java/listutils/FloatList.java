@@ -0,0 +1,360 @@
+package listutils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of {@code float} values, stored without boxing.
+ * <p>
+ * Elements are kept in a single {@code float[]} that grows as needed. {@link #asList()} adapts
+ * the list to a {@code List<Float>} for code that needs one, boxing only the elements that are
+ * read.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class FloatList {
+
+  private static final float[] EMPTY = new float[0];
+
+  private float[] elements;
+  private int size;
+
+  /**
+   * Creates an empty list.
+   */
+  public FloatList() {
+    elements = EMPTY;
+  }
+
+  /**
+   * Creates an empty list that can hold {@code capacity} elements before growing.
+   *
+   * @param capacity Initial capacity
+   */
+  public FloatList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+    }
+    elements = capacity == 0 ? EMPTY : new float[capacity];
+  }
+
+  private FloatList(float[] elements, int size) {
+    this.elements = elements;
+    this.size = size;
+  }
+
+  /**
+   * Returns a list holding a copy of {@code values}.
+   *
+   * @param values Initial elements
+   * @return New list
+   */
+  public static FloatList of(float... values) {
+    return new FloatList(values.clone(), values.length);
+  }
+
+  /**
+   * Returns a list backed by {@code array}, without copying it.
+   * <p>
+   * Changes to the elements of either are visible in the other until the list grows, at which
+   * point it moves to a larger array of its own.
+   * </p>
+   *
+   * @param array Backing array
+   * @return New list
+   */
+  public static FloatList wrap(float[] array) {
+    return new FloatList(array, array.length);
+  }
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return Number of elements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether there are no elements.
+   *
+   * @return Whether the list is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at {@code index}.
+   *
+   * @param index Index of the element
+   * @return Element at {@code index}
+   */
+  public float get(int index) {
+    PrimitiveLists.checkIndex(index, size);
+    return elements[index];
+  }
+
+  /**
+   * Replaces the element at {@code index}.
+   *
+   * @param index Index of the element
+   * @param value New element
+   * @return Previous element
+   */
+  public float set(int index, float value) {
+    PrimitiveLists.checkIndex(index, size);
+    float previous = elements[index];
+    elements[index] = value;
+    return previous;
+  }
+
+  /**
+   * Appends {@code value}.
+   *
+   * @param value Element to append
+   */
+  public void add(float value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+  }
+
+  /**
+   * Inserts {@code value} at {@code index}, shifting later elements along.
+   *
+   * @param index Index to insert at
+   * @param value Element to insert
+   */
+  public void add(int index, float value) {
+    PrimitiveLists.checkIndex(index, size + 1);
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = value;
+    size++;
+  }
+
+  /**
+   * Appends every element of {@code values}.
+   *
+   * @param values Elements to append
+   */
+  public void addAll(float[] values) {
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Appends {@code length} elements of {@code values} from {@code offset} on.
+   *
+   * @param values Elements to append
+   * @param offset Index of the first element to append
+   * @param length Number of elements to append
+   */
+  public void addAll(float[] values, int offset, int length) {
+    PrimitiveLists.checkRange(offset, length, values.length);
+    if (length > elements.length - size) {
+      grow(size + length);
+    }
+    System.arraycopy(values, offset, elements, size, length);
+    size += length;
+  }
+
+  /**
+   * Appends every element of {@code values}.
+   *
+   * @param values Elements to append
+   */
+  public void addAll(FloatList values) {
+    addAll(values.elements, 0, values.size);
+  }
+
+  /**
+   * Removes the element at {@code index}, shifting later elements back.
+   *
+   * @param index Index of the element
+   * @return Removed element
+   */
+  public float removeAt(int index) {
+    PrimitiveLists.checkIndex(index, size);
+    float removed = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+    size--;
+    return removed;
+  }
+
+  /**
+   * Removes every element. The capacity is kept.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Returns the index of the first element equal to {@code value}, or -1 if there is none.
+   *
+   * @param value Element to find
+   * @return Index of the element
+   */
+  public int indexOf(float value) {
+    for (int i = 0; i < size; i++) {
+      if (Float.floatToIntBits(elements[i]) == Float.floatToIntBits(value)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether an element is equal to {@code value}.
+   *
+   * @param value Element to find
+   * @return Whether the element is present
+   */
+  public boolean contains(float value) {
+    return indexOf(value) >= 0;
+  }
+
+  /**
+   * Sorts the elements into ascending numerical order.
+   */
+  public void sort() {
+    Arrays.sort(elements, 0, size);
+  }
+
+  /**
+   * Ensures at least {@code capacity} elements can be held without growing.
+   *
+   * @param capacity Required capacity
+   */
+  public void ensureCapacity(int capacity) {
+    if (capacity > elements.length) {
+      grow(capacity);
+    }
+  }
+
+  /**
+   * Shrinks the capacity to the number of elements.
+   */
+  public void trimToSize() {
+    if (size < elements.length) {
+      elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+    }
+  }
+
+  /**
+   * Returns a new array holding the elements.
+   *
+   * @return Array of the elements
+   */
+  public float[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * Returns a {@code List<Float>} view of this list.
+   * <p>
+   * Changes through the view, including additions and removals, are made to this list, and
+   * elements are boxed only as they are read.
+   * </p>
+   *
+   * @return Boxed view
+   */
+  public List<Float> asList() {
+    return new Boxed();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof FloatList)) {
+      return false;
+    }
+    FloatList other = (FloatList) obj;
+    if (size != other.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (Float.floatToIntBits(elements[i]) != Float.floatToIntBits(other.elements[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the same hash code as a {@code List<Float>} of the same elements.
+   */
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + Float.hashCode(elements[i]);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(elements[i]);
+    }
+    return builder.append(']').toString();
+  }
+
+  private void grow(int capacity) {
+    elements = Arrays.copyOf(elements, PrimitiveLists.grownCapacity(elements.length, capacity));
+  }
+
+  /**
+   * Boxed view returned by {@link #asList()}.
+   */
+  private final class Boxed extends AbstractList<Float> implements RandomAccess {
+
+    @Override
+    public Float get(int index) {
+      return FloatList.this.get(index);
+    }
+
+    @Override
+    public Float set(int index, Float element) {
+      return FloatList.this.set(index, element);
+    }
+
+    @Override
+    public void add(int index, Float element) {
+      FloatList.this.add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public Float remove(int index) {
+      Float removed = removeAt(index);
+      modCount++;
+      return removed;
+    }
+
+    @Override
+    public void clear() {
+      FloatList.this.clear();
+      modCount++;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
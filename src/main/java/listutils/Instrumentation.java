@@ -0,0 +1,358 @@
+package listutils;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters and Flight Recorder events for the flatten, transpose and ensureSize
+ * operations.
+ * <p>
+ * While {@linkplain #enable() enabled}, every call counts towards the statistics of its
+ * {@link Operation}: the number of calls, the elements copied or added, the bytes the calling
+ * thread allocated, where the JVM can measure it, the deepest nesting level reached and a
+ * histogram of latencies. {@link #snapshot(Operation)} reads them.
+ * </p>
+ * <p>
+ * Independently, while a Flight Recorder recording is running, calls are reported as
+ * {@code listutils.Operation} events. These are enabled by default with a threshold of 1 ms, and
+ * can be adjusted like any other event, for example in JDK Mission Control. Events need Java 11
+ * or greater; on earlier versions, or without the {@code jdk.jfr} module, only the counters are
+ * available.
+ * </p>
+ * <p>
+ * When neither is active, an instrumented call reads one volatile flag and nothing else.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class Instrumentation {
+
+  /**
+   * Instrumented operations.
+   */
+  public enum Operation {
+    /** {@code flatten} and {@code flattenToArray}, for Lists and arrays of primitive arrays. */
+    FLATTEN,
+    /** {@code transpose}, for Lists, arrays and arrays of primitive arrays. */
+    TRANSPOSE,
+    /** {@code ensureSize} and {@code ensureSizeWith}. */
+    ENSURE_SIZE
+  }
+
+  /** Number of latency buckets: bucket <i>b</i> counts latencies below 2<sup>b</sup> ns. */
+  static final int BUCKETS = 40;
+
+  private static final Map<Operation, Counters> COUNTERS = new EnumMap<>(Operation.class);
+  private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+  // Not initialized in their declarations, as loading EVENTS may already set them
+  private static volatile boolean enabled;
+  private static volatile boolean recording;
+  /** Whether any instrumentation is on: {@code enabled || recording}. */
+  private static volatile boolean active;
+
+  /** Reporter of Flight Recorder events, or {@code null} where they are not available. */
+  private static final EventRecorder EVENTS = loadEvents();
+
+  static {
+    for (Operation operation : Operation.values()) {
+      COUNTERS.put(operation, new Counters());
+    }
+  }
+
+  private Instrumentation(){}
+
+  /**
+   * Starts counting calls.
+   */
+  public static void enable() {
+    enabled = true;
+    update();
+  }
+
+  /**
+   * Stops counting calls. The statistics gathered so far are kept.
+   */
+  public static void disable() {
+    enabled = false;
+    update();
+  }
+
+  /**
+   * Returns whether calls are being counted.
+   *
+   * @return Whether instrumentation is enabled
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Clears the statistics of every operation.
+   */
+  public static void reset() {
+    for (Counters counters : COUNTERS.values()) {
+      counters.reset();
+    }
+  }
+
+  /**
+   * Returns the statistics of {@code operation} gathered so far. Calls in progress may be
+   * partly included.
+   *
+   * @param operation Operation
+   * @return Statistics
+   */
+  public static Stats snapshot(Operation operation) {
+    return COUNTERS.get(operation).snapshot(operation);
+  }
+
+  /**
+   * Returns a probe timing one call, or {@code null} when no instrumentation is on.
+   */
+  static Probe begin() {
+    return active ? new Probe() : null;
+  }
+
+  private static void update() {
+    active = enabled || recording;
+  }
+
+  private static com.sun.management.ThreadMXBean allocationBean() {
+    try {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+          return threads;
+        }
+      }
+    } catch (RuntimeException | LinkageError e) {
+      // Allocation is then reported as unknown
+    }
+    return null;
+  }
+
+  private static long allocatedBytes() {
+    return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Loads the Flight Recorder event reporter, compiled for Java 11 apart from the rest of the
+   * library, if this runtime can run it.
+   */
+  private static EventRecorder loadEvents() {
+    try {
+      return (EventRecorder) Class.forName("listutils.JfrEventRecorder")
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      // Older runtime or no Flight Recorder: counters only
+      return null;
+    }
+  }
+
+  /**
+   * Called by the event reporter whenever a Flight Recorder recording starts or stops.
+   *
+   * @param running Whether any recording is running
+   */
+  static void recording(boolean running) {
+    recording = running;
+    update();
+  }
+
+  /**
+   * Measurement of one call, created by {@link #begin()}.
+   */
+  static final class Probe {
+
+    private final long start = System.nanoTime();
+    private final long allocated = allocatedBytes();
+    private final Object event;
+
+    Probe() {
+      event = recording && EVENTS != null ? EVENTS.begin() : null;
+    }
+
+    /**
+     * Records the end of the call.
+     *
+     * @param operation Operation performed
+     * @param elements Number of elements copied or added
+     * @param depth Deepest nesting level reached
+     */
+    void end(Operation operation, long elements, int depth) {
+      long latency = System.nanoTime() - start;
+      long bytes = THREADS == null ? -1 : allocatedBytes() - allocated;
+      if (enabled) {
+        COUNTERS.get(operation).add(latency, elements, bytes, depth);
+      }
+      if (event != null) {
+        EVENTS.end(event, operation, elements, bytes, depth);
+      }
+    }
+  }
+
+  /**
+   * Live counters of one operation.
+   */
+  private static final class Counters {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAccumulator depth = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+    void add(long latency, long elementCount, long byteCount, int reached) {
+      calls.increment();
+      elements.add(elementCount);
+      if (byteCount > 0) {
+        bytes.add(byteCount);
+      }
+      depth.accumulate(reached);
+      int bucket = 64 - Long.numberOfLeadingZeros(Math.max(latency, 0));
+      latencies.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+    }
+
+    void reset() {
+      calls.reset();
+      elements.reset();
+      bytes.reset();
+      depth.reset();
+      for (int i = 0; i < BUCKETS; i++) {
+        latencies.set(i, 0);
+      }
+    }
+
+    Stats snapshot(Operation operation) {
+      long[] histogram = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+        histogram[i] = latencies.get(i);
+      }
+      return new Stats(operation, calls.sum(), elements.sum(), THREADS == null ? -1 : bytes.sum(),
+          (int) depth.get(), histogram);
+    }
+  }
+
+  /**
+   * Statistics of one operation at the time of a {@link Instrumentation#snapshot(Operation)}.
+   */
+  public static final class Stats {
+
+    private final Operation operation;
+    private final long calls;
+    private final long elements;
+    private final long bytesAllocated;
+    private final int maxDepth;
+    private final long[] latencies;
+
+    Stats(Operation operation, long calls, long elements, long bytesAllocated, int maxDepth,
+        long[] latencies) {
+      this.operation = operation;
+      this.calls = calls;
+      this.elements = elements;
+      this.bytesAllocated = bytesAllocated;
+      this.maxDepth = maxDepth;
+      this.latencies = latencies;
+    }
+
+    /**
+     * Returns the operation measured.
+     *
+     * @return Operation
+     */
+    public Operation operation() {
+      return operation;
+    }
+
+    /**
+     * Returns the number of calls.
+     *
+     * @return Number of calls
+     */
+    public long calls() {
+      return calls;
+    }
+
+    /**
+     * Returns the number of elements copied into results or added to Lists.
+     *
+     * @return Number of elements
+     */
+    public long elements() {
+      return elements;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the calling threads during the calls, or -1 if
+     * the JVM cannot measure it.
+     *
+     * @return Bytes allocated
+     */
+    public long bytesAllocated() {
+      return bytesAllocated;
+    }
+
+    /**
+     * Returns the deepest nesting level reached: the number of Lists or arrays entered one
+     * inside another, counting the input itself.
+     *
+     * @return Greatest depth
+     */
+    public int maxDepth() {
+      return maxDepth;
+    }
+
+    /**
+     * Returns the latency histogram: element <i>b</i> counts the calls that took at least
+     * 2<sup>b-1</sup> and less than 2<sup>b</sup> nanoseconds, the last element counting every
+     * longer call.
+     *
+     * @return Call counts per latency bucket
+     */
+    public long[] latencyHistogram() {
+      return latencies.clone();
+    }
+
+    /**
+     * Returns an upper bound, within a factor of two, of the latency below which a fraction
+     * {@code quantile} of the calls completed.
+     *
+     * @param quantile Fraction of calls, from 0 to 1
+     * @return Latency in nanoseconds, or 0 if no call was made
+     */
+    public long latencyQuantile(double quantile) {
+      if (quantile < 0 || quantile > 1) {
+        throw new IllegalArgumentException("Quantile must be from 0 to 1: " + quantile);
+      }
+      long total = 0;
+      for (long count : latencies) {
+        total += count;
+      }
+      if (total == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * total));
+      long seen = 0;
+      for (int b = 0; b < latencies.length; b++) {
+        seen += latencies[b];
+        if (seen >= rank) {
+          return b == latencies.length - 1 ? Long.MAX_VALUE : 1L << b;
+        }
+      }
+      return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+      return operation + "[calls=" + calls + ", elements=" + elements + ", bytesAllocated="
+          + bytesAllocated + ", maxDepth=" + maxDepth + ", p50<=" + latencyQuantile(0.5)
+          + "ns, p99<=" + latencyQuantile(0.99) + "ns]";
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package listutils;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the leaves of a List flattened without limit, as walked by
+ * {@link FlattenEngine}.
+ * <p>
+ * The leaves are counted once, up front, recording how many come before each element of the
+ * List, so the exact size of every part is known. A range is split between two elements of the
+ * List, at the one nearest its middle leaf, and each part walks its own elements independently.
+ * </p>
+ *
+ * @param <R> Generic element class identifier
+ */
+final class LeafSpliterator<R> implements Spliterator<R> {
+
+  /** Ranges of fewer leaves than this are not split. */
+  private static final int MIN_SPLIT = 64;
+
+  private final List<?> list;
+  /** Number of leaves before each element of {@link #list}, followed by the total. */
+  private final int[] offsets;
+  private int from;
+  private final int to;
+  /** Walk over the elements from {@link #from} to {@link #to}, once traversal has begun. */
+  private FlattenEngine.Walk walk;
+  private long remaining;
+
+  LeafSpliterator(List<?> list) {
+    this(list, new FlattenEngine.Walk(FlattenEngine.UNLIMITED).offsets(list), 0, list.size());
+  }
+
+  private LeafSpliterator(List<?> list, int[] offsets, int from, int to) {
+    this.list = list;
+    this.offsets = offsets;
+    this.from = from;
+    this.to = to;
+    this.remaining = offsets[to] - offsets[from];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean tryAdvance(Consumer<? super R> action) {
+    if (walk == null) {
+      walk = new FlattenEngine.Walk(FlattenEngine.UNLIMITED);
+      walk.start(list.subList(from, to));
+    }
+    Object leaf = walk.advance();
+    if (leaf == FlattenEngine.END) {
+      return false;
+    }
+    remaining--;
+    action.accept((R) leaf);
+    return true;
+  }
+
+  @Override
+  public Spliterator<R> trySplit() {
+    if (walk != null || remaining < MIN_SPLIT || to - from < 2) {
+      return null;
+    }
+    int split = FlattenEngine.split(offsets, from, to);
+    LeafSpliterator<R> prefix = new LeafSpliterator<>(list, offsets, from, split);
+    from = split;
+    remaining = offsets[to] - offsets[from];
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return remaining;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED;
+  }
+}
@@ -1,8 +1,28 @@
 package listutils;
 
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Library for generic list utilities
@@ -11,13 +31,18 @@ import java.util.List;
  */
 public class ListUtility {
 
+  /**
+   * Most elements appended at once while padding, bounding the temporary array of each append.
+   */
+  private static final int PAD_BLOCK = 4096;
+
   private ListUtility(){}
   
   /**
    * Returns a new flattened List.
    * <p>
    * For every element that is an array or List, extract its elements into the new List. This is
-   * repeated until the final output is a 1-dimensional List.
+   * repeated until the final output is a 1-dimensional List. Lists and arrays may be mixed at any level.
    * </p>
    * <p>
    * Note that, due to Java's implementation of generics, arrays of primitives will ultimately
@@ -30,59 +55,15 @@ public class ListUtility {
    * @return Flattened list
    * @since 1.0.0
    */
-  @SuppressWarnings({"unchecked", "SuspiciousToArrayCall"})
   public static <T, R> List<R> flatten(List<T> list) {
-    if (list.isEmpty() || !(list.get(0) instanceof List<?> || list.get(0).getClass().isArray())) {
-      return (List<R>) list;
-    }
-    if (list.get(0).getClass().isArray() && list.get(0).getClass().getComponentType().isPrimitive()) {
-      if (list.get(0).getClass() == int[].class) { //In no particular order
-        return (List<R>) flatten(list.toArray(new int[0][0]));
-      }
-      if (list.get(0).getClass() == byte[].class) {
-        return (List<R>) flatten(list.toArray(new byte[0][0]));
-      }
-      if (list.get(0).getClass() == double[].class) {
-        return (List<R>) flatten(list.toArray(new double[0][0]));
-      }
-      if (list.get(0).getClass() == boolean[].class) {
-        return (List<R>) flatten(list.toArray(new boolean[0][0]));
-      }
-      if (list.get(0).getClass() == short[].class) {
-        return (List<R>) flatten(list.toArray(new short[0][0]));
-      }
-      if (list.get(0).getClass() == long[].class) {
-        return (List<R>) flatten(list.toArray(new long[0][0]));
-      }
-      if (list.get(0).getClass() == char[].class) {
-        return (List<R>) flatten(list.toArray(new char[0][0]));
-      }
-      if (list.get(0).getClass() == float[].class) {
-        return (List<R>) flatten(list.toArray(new float[0][0]));
-      }
-    }
-    List<T> flat = new ArrayList<>();
-    if (list.get(0) instanceof List<?>) {
-      for (int i = 0; i < list.size(); i++) {
-        for (int j = 0; j < ((List<T>) list.get(i)).size(); j++) {
-          flat.add(((List<T>) list.get(i)).get(j));
-        }
-      }
-    } else if (list.get(0).getClass().isArray()) {
-      for (int i = 0; i < list.size(); i++) {
-        flat.addAll(Arrays.asList((T[]) list.get(i)));
-      }
-    } else {
-      throw new AssertionError("Should never happen");
-    }
-    return flatten(flat);
+    return FlattenEngine.flatten(list, FlattenEngine.UNLIMITED);
   }
 
   /**
    * Returns a new flattened List.
    * <p>
    * For every element that is an array or List, extract its elements into the new List. Recursion
-   * is limited to {@code level} iterations.
+   * is limited to {@code level} iterations. Lists and arrays may be mixed at any level.
    * </p>
    * <p>
    * Note that, due to Java's implementation of generics, arrays of primitives will ultimately
@@ -96,53 +77,8 @@ public class ListUtility {
    * @return Flattened list
    * @since 1.0.0
    */
-  @SuppressWarnings({"unchecked", "SuspiciousToArrayCall"})
   public static <T, R> List<R> flatten(List<T> list, int level) {
-    if (list.isEmpty() || !(list.get(0) instanceof List<?> || list.get(0).getClass().isArray())
-        || level == 0) {
-      return (List<R>) list;
-    }
-    if (list.get(0).getClass().isArray() && list.get(0).getClass().getComponentType().isPrimitive()) {
-      if (list.get(0).getClass() == int[].class) { //In no particular order
-        return (List<R>) flatten(list.toArray(new int[0][0]));
-      }
-      if (list.get(0).getClass() == byte[].class) {
-        return (List<R>) flatten(list.toArray(new byte[0][0]));
-      }
-      if (list.get(0).getClass() == double[].class) {
-        return (List<R>) flatten(list.toArray(new double[0][0]));
-      }
-      if (list.get(0).getClass() == boolean[].class) {
-        return (List<R>) flatten(list.toArray(new boolean[0][0]));
-      }
-      if (list.get(0).getClass() == short[].class) {
-        return (List<R>) flatten(list.toArray(new short[0][0]));
-      }
-      if (list.get(0).getClass() == long[].class) {
-        return (List<R>) flatten(list.toArray(new long[0][0]));
-      }
-      if (list.get(0).getClass() == char[].class) {
-        return (List<R>) flatten(list.toArray(new char[0][0]));
-      }
-      if (list.get(0).getClass() == float[].class) {
-        return (List<R>) flatten(list.toArray(new float[0][0]));
-      }
-    }
-    List<T> flat = new ArrayList<>();
-    if (list.get(0) instanceof List<?>) {
-      for (int i = 0; i < list.size(); i++) {
-        for (int j = 0; j < ((List<T>) list.get(i)).size(); j++) {
-          flat.add(((List<T>) list.get(i)).get(j));
-        }
-      }
-    } else if (list.get(0).getClass().isArray()) {
-      for (int i = 0; i < list.size(); i++) {
-        flat.addAll(Arrays.asList((T[]) list.get(i)));
-      }
-    } else {
-      throw new AssertionError("Should never happen");
-    }
-    return flatten(flat, level - 1);
+    return FlattenEngine.flatten(list, level);
   }
 
   /**
@@ -170,9 +106,7 @@ public class ListUtility {
     List<R> flat = new ArrayList<>();
     if (list[0] instanceof List<?>) {
       for (T list1 : list) {
-        for (int j = 0; j < ((List<T>) list1).size(); j++) {
-          flat.add(((List<R>) list1).get(j));
-        }
+        flat.addAll((List<R>) list1);
       }
     } else if (list[0].getClass().isArray()) {
       for (T list1 : list) {
@@ -214,9 +148,7 @@ public class ListUtility {
     List<R> flat = new ArrayList<>();
     if (list[0] instanceof List<?>) {
       for (T list1 : list) {
-        for (int j = 0; j < ((List<T>) list1).size(); j++) {
-          flat.add(((List<R>) list1).get(j));
-        }
+        flat.addAll((List<R>) list1);
       }
     } else if (list[0].getClass().isArray()) {
       for (T list1 : list) {
@@ -236,140 +168,146 @@ public class ListUtility {
    * @since 1.3.1
    */
   public static List<int[]> flatten(int[][] list) {
-    int size = 0;
-    for (int[] arr : list) {
-      size += arr.length;
-    }
     List<int[]> flat = new ArrayList<>();
-    flat.add(new int[size]);
-    int i = 0;
-    for (int[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
-      }
-    }
+    flat.add(flattenToArray(list));
     return flat;
   }
 
   /**
-   * Converts an array of primitive arrays into a List of one primitive array.
+   * Converts an array of primitive arrays into one primitive array.
    *
    * @param list Input array
-   * @return Flattened list
-   * @since 1.3.1
+   * @return Flattened array
+   * @since 1.5.0
    */
-  public static List<char[]> flatten(char[][] list) {
-    int size = 0;
-    for (char[] arr : list) {
-      size += arr.length;
-    }
-    List<char[]> flat = new ArrayList<>();
-    flat.add(new char[size]);
-    int i = 0;
-    for (char[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
-      }
+  public static int[] flattenToArray(int[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int[] flat = new int[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
     }
     return flat;
   }
 
   /**
-   * Converts an array of primitive arrays into a List of one primitive array.
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
+   * <p>
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
+   * </p>
    *
    * @param list Input array
-   * @return Flattened list
-   * @since 1.3.1
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
    */
-  public static List<double[]> flatten(double[][] list) {
-    int size = 0;
-    for (double[] arr : list) {
-      size += arr.length;
-    }
-    List<double[]> flat = new ArrayList<>();
-    flat.add(new double[size]);
-    int i = 0;
-    for (double[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
-      }
-    }
-    return flat;
+  public static PrimitiveBuffer flatten(int[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
   }
 
   /**
-   * Converts an array of primitive arrays into a List of one primitive array.
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
    *
    * @param list Input array
-   * @return Flattened list
-   * @since 1.3.1
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
    */
-  public static List<boolean[]> flatten(boolean[][] list) {
-    int size = 0;
-    for (boolean[] arr : list) {
-      size += arr.length;
-    }
-    List<boolean[]> flat = new ArrayList<>();
-    flat.add(new boolean[size]);
-    int i = 0;
-    for (boolean[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
-      }
+  public static int flattenInto(int[][] list, int[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (int[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
     }
+    return size;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
+   * <p>
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
+   * </p>
+   *
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static int[] flattenToArray(int[][] list, BufferArena arena) {
+    int[] flat = arena.intArray(flatSize(list));
+    flattenInto(list, flat, 0);
     return flat;
   }
 
   /**
-   * Converts an array of primitive arrays into a List of one primitive array.
+   * Converts an array of primitive arrays into a {@link IntList}, without boxing.
    *
    * @param list Input array
    * @return Flattened list
-   * @since 1.3.1
+   * @since 1.5.0
    */
-  public static List<short[]> flatten(short[][] list) {
-    int size = 0;
-    for (short[] arr : list) {
-      size += arr.length;
-    }
-    List<short[]> flat = new ArrayList<>();
-    flat.add(new short[size]);
-    int i = 0;
-    for (short[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
+  public static IntList flattenToList(int[][] list) {
+    return IntList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code int} arrays into one array, as
+   * {@link #flattenToArray(int[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<int[], ?, int[]> flatteningToIntArray() {
+    return FlattenCollectors.arrays(int[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Passes every element of an array of primitive arrays to {@code action}, row by row, without
+   * boxing and without building a flattened array.
+   *
+   * @param list Input array
+   * @param action Receiver of each element
+   * @since 1.5.0
+   */
+  public static void flattenEach(int[][] list, IntConsumer action) {
+    for (int[] arr : list) {
+      for (int element : arr) {
+        action.accept(element);
       }
     }
-    return flat;
   }
 
   /**
-   * Converts an array of primitive arrays into a List of one primitive array.
+   * Passes the elements of an array of primitive arrays to {@code action}, row by row, until it
+   * returns {@code false}, without boxing and without building a flattened array.
    *
    * @param list Input array
-   * @return Flattened list
-   * @since 1.3.1
+   * @param action Receiver of each element, returning whether to continue
+   * @return Whether every element was passed
+   * @since 1.5.0
    */
-  public static List<long[]> flatten(long[][] list) {
-    int size = 0;
-    for (long[] arr : list) {
-      size += arr.length;
-    }
-    List<long[]> flat = new ArrayList<>();
-    flat.add(new long[size]);
-    int i = 0;
-    for (long[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
+  public static boolean flattenWhile(int[][] list, IntPredicate action) {
+    for (int[] arr : list) {
+      for (int element : arr) {
+        if (!action.test(element)) {
+          return false;
+        }
       }
     }
-    return flat;
+    return true;
   }
 
   /**
@@ -379,231 +317,2993 @@ public class ListUtility {
    * @return Flattened list
    * @since 1.3.1
    */
-  public static List<float[]> flatten(float[][] list) {
-    int size = 0;
-    for (float[] arr : list) {
-      size += arr.length;
-    }
-    List<float[]> flat = new ArrayList<>();
-    flat.add(new float[size]);
-    int i = 0;
-    for (float[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
-      }
-    }
+  public static List<char[]> flatten(char[][] list) {
+    List<char[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
     return flat;
   }
 
   /**
-   * Converts an array of primitive arrays into a List of one primitive array.
+   * Converts an array of primitive arrays into one primitive array.
    *
    * @param list Input array
-   * @return Flattened list
-   * @since 1.3.1
+   * @return Flattened array
+   * @since 1.5.0
    */
-  public static List<byte[]> flatten(byte[][] list) {
-    int size = 0;
-    for (byte[] arr : list) {
-      size += arr.length;
-    }
-    List<byte[]> flat = new ArrayList<>();
-    flat.add(new byte[size]);
-    int i = 0;
-    for (byte[] arr : list) {
-      for (int j = 0; j < arr.length; j++) {
-        flat.get(0)[i] = arr[j];
-        i++;
-      }
+  public static char[] flattenToArray(char[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    char[] flat = new char[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
     }
     return flat;
   }
 
   /**
-   * Ensures the size of {@code list} is at least {@code size}.
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
    * <p>
-   * If the list size is less than required, {@code null} is appended until the values are equal.
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
    * </p>
+   *
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer flatten(char[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
    * <p>
-   * Note that it is considered best practice to use interfaces over implementations of those
-   * interfaces where possible, but in cases where an {@code ArrayList} must be used, this version
-   * can be faster.
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
    * </p>
    *
-   * @param list List to be resized
-   * @param size Required size
-   * @since 1.2.0
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
    */
-  public static void ensureSize(ArrayList<?> list, int size) {
-    list.ensureCapacity(size);
-    while (list.size() < size) {
-      list.add(null);
+  public static int flattenInto(char[][] list, char[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (char[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
     }
+    return size;
   }
 
   /**
-   * Ensures the size of {@code list} is at least {@code size}.
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
    * <p>
-   * If the list size is less than required, {@code null} is appended until the values are equal.
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
    * </p>
    *
-   * @param list List to be resized
-   * @param size Required size
-   * @since 1.2.0
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
    */
-  public static void ensureSize(List<?> list, int size) {
-    while (list.size() < size) {
-      list.add(null);
-    }
+  public static char[] flattenToArray(char[][] list, BufferArena arena) {
+    char[] flat = arena.charArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input List.
+   * Converts an array of primitive arrays into a {@link CharList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static CharList flattenToList(char[][] list) {
+    return CharList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code char} arrays into one array, as
+   * {@link #flattenToArray(char[][])} would.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> List, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
    * </p>
    *
-   * @param <T> Generic input class identifier
-   * @param <R> Generic return class identifier
-   * @param original Input list
-   * @return Transposed list
-   * @since 1.4.0
+   * @return Flattening Collector
+   * @since 1.5.0
    */
-  @SuppressWarnings({"unchecked", "SuspiciousToArrayCall"})
-  public static <T, R> List<R> transpose(List<T> original) {
-    if (original.isEmpty() || !(original.get(0) instanceof List<?> || original.get(0).getClass().isArray())) {
-      return (List<R>) original;
-    }
-    if (original.get(0).getClass().isArray() && original.get(0).getClass().getComponentType().isPrimitive()) {
-      if (original.get(0).getClass() == int[].class) { //In no particular order
-        return (List<R>) transpose(original.toArray(new int[0][0]));
-      }
-      if (original.get(0).getClass() == byte[].class) {
-        return (List<R>) transpose(original.toArray(new byte[0][0]));
-      }
-      if (original.get(0).getClass() == double[].class) {
-        return (List<R>) transpose(original.toArray(new double[0][0]));
-      }
-      if (original.get(0).getClass() == boolean[].class) {
-        return (List<R>) transpose(original.toArray(new boolean[0][0]));
-      }
-      if (original.get(0).getClass() == short[].class) {
-        return (List<R>) transpose(original.toArray(new short[0][0]));
-      }
-      if (original.get(0).getClass() == long[].class) {
-        return (List<R>) transpose(original.toArray(new long[0][0]));
-      }
-      if (original.get(0).getClass() == char[].class) {
-        return (List<R>) transpose(original.toArray(new char[0][0]));
-      }
-      if (original.get(0).getClass() == float[].class) {
-        return (List<R>) transpose(original.toArray(new float[0][0]));
-      }
-    }
-    int rows = original.size();
-    int columns;
-    if (original.get(0) instanceof List<?>) {
-      columns = ((List<T>) original.get(0)).size();
-    } else {
-      columns = ((T[]) original.get(0)).length;
-    }
-    List<List<T>> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new ArrayList<>());
-      for (int i = 0; i < rows; i++) {
-        if (original.get(0) instanceof List<?>) {
-          if (((List<T>) original.get(i)).size() > columns) {
-            columns = ((List<T>) original.get(i)).size();
-          }
-          if (((List<T>) original.get(i)).size() > j) {
-            transposed.get(j).add(((List<T>) original.get(i)).get(j));
-          } else {
-            continue next;
-          }
-        } else {
-          if (((T[]) original.get(i)).length > columns) {
-            columns = ((T[]) original.get(i)).length;
-          }
-          if (((T[]) original.get(i)).length > j) {
-            transposed.get(j).add(((T[]) original.get(i))[j]);
-          } else {
-            continue next;
-          }
-        }
-      }
+  public static Collector<char[], ?, char[]> flatteningToCharArray() {
+    return FlattenCollectors.arrays(char[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.3.1
+   */
+  public static List<double[]> flatten(double[][] list) {
+    List<double[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static double[] flattenToArray(double[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    double[] flat = new double[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
     }
-    return (List<R>) transposed;
+    return flat;
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
    * </p>
    *
-   * @param <T> Generic input class identifier
-   * @param <R> Generic return class identifier
-   * @param original Input array
-   * @return Transposed list
-   * @since 1.4.0
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
    */
-  @SuppressWarnings("unchecked")
-  public static <T, R> List<R> transpose(T[] original) {
-    int rows = original.length;
-    int columns;
-    if (original[0] instanceof List<?>) {
-      columns = ((List<T>) original[0]).size();
-    } else {
-      columns = ((T[]) original[0]).length;
-    }
-    List<List<T>> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new ArrayList<>());
-      for (int i = 0; i < rows; i++) {
-        if (original[0] instanceof List<?>) {
-          if (((List<T>) original[i]).size() > columns) {
-            columns = ((List<T>) original[i]).size();
-          }
-          if (((List<T>) original[i]).size() > j) {
-            transposed.get(j).add(((List<T>) original[i]).get(j));
-          } else {
-            continue next;
-          }
-        } else {
-          if (((T[]) original[i]).length > columns) {
-            columns = ((T[]) original[i]).length;
-          }
-          if (((T[]) original[i]).length > j) {
-            transposed.get(j).add(((T[]) original[i])[j]);
-          } else {
-            continue next;
-          }
-        }
-      }
+  public static PrimitiveBuffer flatten(double[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
+   *
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
+   */
+  public static int flattenInto(double[][] list, double[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (double[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
     }
-    return (List<R>) transposed;
+    return size;
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
    * </p>
    *
-   * @param original Input array
-   * @return Transposed list
-   * @since 1.4.0
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
    */
-  public static List<int[]> transpose(int[][] original) {
+  public static double[] flattenToArray(double[][] list, BufferArena arena) {
+    double[] flat = arena.doubleArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link DoubleList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static DoubleList flattenToList(double[][] list) {
+    return DoubleList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code double} arrays into one array, as
+   * {@link #flattenToArray(double[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<double[], ?, double[]> flatteningToDoubleArray() {
+    return FlattenCollectors.arrays(double[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Returns a view of a flat array in the given shape, without copying it.
+   * <p>
+   * This is the inverse of {@link #flattenToArray(double[][])} and of flattening to any number of
+   * dimensions. One dimension may be given as -1, in which case it is inferred from the length of
+   * {@code flat}.
+   * </p>
+   *
+   * @param flat Row-major elements
+   * @param shape Length of each dimension, at least one
+   * @return Tensor view
+   * @throws IllegalArgumentException if {@code flat} does not hold exactly as many elements as
+   *     the shape
+   * @since 1.5.0
+   */
+  public static DoubleTensor reshape(double[] flat, int... shape) {
+    return DoubleTensor.wrap(flat, shape);
+  }
+
+  /**
+   * Returns a view of the array held by a List that {@link #flatten(double[][])} returned, in the
+   * given shape, without copying it.
+   *
+   * @param flattened List of a single array
+   * @param shape Length of each dimension, at least one
+   * @return Tensor view
+   * @throws IllegalArgumentException if {@code flattened} does not hold exactly one array, or the
+   *     array does not hold exactly as many elements as the shape
+   * @since 1.5.0
+   */
+  public static DoubleTensor reshape(List<double[]> flattened, int... shape) {
+    return DoubleTensor.wrap(single(flattened), shape);
+  }
+
+  /**
+   * Returns the rows of a flat array, {@code columns} elements each, as views of the array.
+   * <p>
+   * This is the inverse of {@link #flattenToArray(double[][])}, without copying: each row is a
+   * buffer over its part of {@code flat}, so writes through a row are visible in {@code flat}.
+   * </p>
+   *
+   * @param flat Row-major elements
+   * @param columns Number of elements per row
+   * @return Fixed-size List of row views
+   * @throws IllegalArgumentException if the length of {@code flat} is not a multiple of
+   *     {@code columns}
+   * @since 1.5.0
+   */
+  public static List<DoubleBuffer> unflatten(double[] flat, int columns) {
+    return DoubleTensor.wrap(flat, -1, columns).rows();
+  }
+
+  /**
+   * Returns the rows of the array held by a List that {@link #flatten(double[][])} returned,
+   * {@code columns} elements each, as views of the array.
+   *
+   * @param flattened List of a single array
+   * @param columns Number of elements per row
+   * @return Fixed-size List of row views
+   * @throws IllegalArgumentException if {@code flattened} does not hold exactly one array, or its
+   *     length is not a multiple of {@code columns}
+   * @since 1.5.0
+   */
+  public static List<DoubleBuffer> unflatten(List<double[]> flattened, int columns) {
+    return unflatten(single(flattened), columns);
+  }
+
+  /**
+   * Passes every element of an array of primitive arrays to {@code action}, row by row, without
+   * boxing and without building a flattened array.
+   *
+   * @param list Input array
+   * @param action Receiver of each element
+   * @since 1.5.0
+   */
+  public static void flattenEach(double[][] list, DoubleConsumer action) {
+    for (double[] arr : list) {
+      for (double element : arr) {
+        action.accept(element);
+      }
+    }
+  }
+
+  /**
+   * Passes the elements of an array of primitive arrays to {@code action}, row by row, until it
+   * returns {@code false}, without boxing and without building a flattened array.
+   *
+   * @param list Input array
+   * @param action Receiver of each element, returning whether to continue
+   * @return Whether every element was passed
+   * @since 1.5.0
+   */
+  public static boolean flattenWhile(double[][] list, DoublePredicate action) {
+    for (double[] arr : list) {
+      for (double element : arr) {
+        if (!action.test(element)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.3.1
+   */
+  public static List<boolean[]> flatten(boolean[][] list) {
+    List<boolean[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static boolean[] flattenToArray(boolean[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    boolean[] flat = new boolean[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
+    }
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
+   * <p>
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
+   * </p>
+   *
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer flatten(boolean[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
+   *
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
+   */
+  public static int flattenInto(boolean[][] list, boolean[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (boolean[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
+    }
+    return size;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
+   * <p>
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
+   * </p>
+   *
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static boolean[] flattenToArray(boolean[][] list, BufferArena arena) {
+    boolean[] flat = arena.booleanArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link BooleanList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static BooleanList flattenToList(boolean[][] list) {
+    return BooleanList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code boolean} arrays into one array, as
+   * {@link #flattenToArray(boolean[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<boolean[], ?, boolean[]> flatteningToBooleanArray() {
+    return FlattenCollectors.arrays(boolean[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link BitSet} of its elements, one bit each
+   * rather than the byte of a {@code boolean}.
+   * <p>
+   * Element <i>k</i> of the flattened array is bit <i>k</i> of the result. The bits are packed a
+   * word at a time.
+   * </p>
+   *
+   * @param list Input array, whose rows may differ in length
+   * @return Flattened bits
+   * @since 1.5.0
+   */
+  public static BitSet flattenToBitSet(boolean[][] list) {
+    long[] words = new long[(int) (((long) flatSize(list) + 63) >>> 6)];
+    int index = 0;
+    for (boolean[] arr : list) {
+      for (boolean element : arr) {
+        if (element) {
+          words[index >>> 6] |= 1L << index;
+        }
+        index++;
+      }
+    }
+    return BitSet.valueOf(words);
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.3.1
+   */
+  public static List<short[]> flatten(short[][] list) {
+    List<short[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static short[] flattenToArray(short[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    short[] flat = new short[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
+    }
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
+   * <p>
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
+   * </p>
+   *
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer flatten(short[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
+   *
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
+   */
+  public static int flattenInto(short[][] list, short[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (short[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
+    }
+    return size;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
+   * <p>
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
+   * </p>
+   *
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static short[] flattenToArray(short[][] list, BufferArena arena) {
+    short[] flat = arena.shortArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link ShortList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static ShortList flattenToList(short[][] list) {
+    return ShortList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code short} arrays into one array, as
+   * {@link #flattenToArray(short[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<short[], ?, short[]> flatteningToShortArray() {
+    return FlattenCollectors.arrays(short[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.3.1
+   */
+  public static List<long[]> flatten(long[][] list) {
+    List<long[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static long[] flattenToArray(long[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    long[] flat = new long[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
+    }
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
+   * <p>
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
+   * </p>
+   *
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer flatten(long[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
+   *
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
+   */
+  public static int flattenInto(long[][] list, long[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (long[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
+    }
+    return size;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
+   * <p>
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
+   * </p>
+   *
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static long[] flattenToArray(long[][] list, BufferArena arena) {
+    long[] flat = arena.longArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link LongList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static LongList flattenToList(long[][] list) {
+    return LongList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code long} arrays into one array, as
+   * {@link #flattenToArray(long[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<long[], ?, long[]> flatteningToLongArray() {
+    return FlattenCollectors.arrays(long[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Passes every element of an array of primitive arrays to {@code action}, row by row, without
+   * boxing and without building a flattened array.
+   *
+   * @param list Input array
+   * @param action Receiver of each element
+   * @since 1.5.0
+   */
+  public static void flattenEach(long[][] list, LongConsumer action) {
+    for (long[] arr : list) {
+      for (long element : arr) {
+        action.accept(element);
+      }
+    }
+  }
+
+  /**
+   * Passes the elements of an array of primitive arrays to {@code action}, row by row, until it
+   * returns {@code false}, without boxing and without building a flattened array.
+   *
+   * @param list Input array
+   * @param action Receiver of each element, returning whether to continue
+   * @return Whether every element was passed
+   * @since 1.5.0
+   */
+  public static boolean flattenWhile(long[][] list, LongPredicate action) {
+    for (long[] arr : list) {
+      for (long element : arr) {
+        if (!action.test(element)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.3.1
+   */
+  public static List<float[]> flatten(float[][] list) {
+    List<float[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static float[] flattenToArray(float[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    float[] flat = new float[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
+    }
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
+   * <p>
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
+   * </p>
+   *
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer flatten(float[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
+   *
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
+   */
+  public static int flattenInto(float[][] list, float[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (float[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
+    }
+    return size;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
+   * <p>
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
+   * </p>
+   *
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static float[] flattenToArray(float[][] list, BufferArena arena) {
+    float[] flat = arena.floatArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link FloatList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static FloatList flattenToList(float[][] list) {
+    return FloatList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code float} arrays into one array, as
+   * {@link #flattenToArray(float[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<float[], ?, float[]> flatteningToFloatArray() {
+    return FlattenCollectors.arrays(float[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.3.1
+   */
+  public static List<byte[]> flatten(byte[][] list) {
+    List<byte[]> flat = new ArrayList<>();
+    flat.add(flattenToArray(list));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array.
+   *
+   * @param list Input array
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static byte[] flattenToArray(byte[][] list) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    byte[] flat = new byte[flatSize(list)];
+    flattenInto(list, flat, 0);
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.FLATTEN, flat.length, 2);
+    }
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link PrimitiveBuffer} of its elements.
+   * <p>
+   * With {@link Storage#OFF_HEAP}, the result is kept outside the garbage-collected heap. The
+   * result may exceed {@code Integer.MAX_VALUE} elements.
+   * </p>
+   *
+   * @param list Input array
+   * @param storage Where to keep the result
+   * @return Flattened buffer
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer flatten(byte[][] list, Storage storage) {
+    return PrimitiveBuffer.flatten(list, storage);
+  }
+
+  /**
+   * Copies the elements of an array of primitive arrays, one after another, into {@code dest}.
+   * <p>
+   * Nothing is allocated, so a single {@code dest} can be reused across calls. If {@code dest}
+   * cannot hold every element from {@code offset} on, nothing is written.
+   * </p>
+   *
+   * @param list Input array
+   * @param dest Array to copy into
+   * @param offset Position in {@code dest} of the first element
+   * @return Number of elements written
+   * @throws IndexOutOfBoundsException if {@code dest} is too small
+   * @since 1.5.0
+   */
+  public static int flattenInto(byte[][] list, byte[] dest, int offset) {
+    int size = flatSize(list);
+    checkDestination(size, dest.length, offset);
+    for (byte[] arr : list) {
+      System.arraycopy(arr, 0, dest, offset, arr.length);
+      offset += arr.length;
+    }
+    return size;
+  }
+
+  /**
+   * Converts an array of primitive arrays into one primitive array drawn from {@code arena}.
+   * <p>
+   * The result has exactly as many elements as {@code list} holds. Hand it back with
+   * {@link BufferArena#release(Object)} once done, so that later calls can reuse it.
+   * </p>
+   *
+   * @param list Input array
+   * @param arena Arena to draw the result from
+   * @return Flattened array
+   * @since 1.5.0
+   */
+  public static byte[] flattenToArray(byte[][] list, BufferArena arena) {
+    byte[] flat = arena.byteArray(flatSize(list));
+    flattenInto(list, flat, 0);
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a {@link ByteList}, without boxing.
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static ByteList flattenToList(byte[][] list) {
+    return ByteList.wrap(flattenToArray(list));
+  }
+
+  /**
+   * Returns a Collector that joins a Stream of {@code byte} arrays into one array, as
+   * {@link #flattenToArray(byte[][])} would.
+   * <p>
+   * The arrays are gathered by reference and copied once, when the result is built. Partial
+   * results of a parallel Stream are merged without copying.
+   * </p>
+   *
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static Collector<byte[], ?, byte[]> flatteningToByteArray() {
+    return FlattenCollectors.arrays(byte[][]::new, ListUtility::flattenToArray);
+  }
+
+  /**
+   * Returns a read-only List view of the input List flattened by one level.
+   * <p>
+   * For every element that is an array or List, its elements appear in the view in its place.
+   * Unlike {@link #flatten(List, int)}, no element is copied: {@code get} finds the owning
+   * sublist by binary search, and memory use grows with the number of sublists only.
+   * </p>
+   * <p>
+   * The sublists should not change size while the view is in use.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param list Input list
+   * @return Flattened view
+   * @since 1.5.0
+   */
+  public static <T, R> List<R> flattenView(List<T> list) {
+    return new FlattenedView<>(list);
+  }
+
+  /**
+   * Returns a sequential Stream of the elements of the flattened input List.
+   * <p>
+   * Elements are streamed in the order {@link #flatten(List)} would hold them, except that arrays of
+   * primitives are streamed whole rather than joined. The leaves are counted when the Stream is
+   * created, without copying them, so its exact size is known; they are read in place during
+   * traversal. Splitting falls between elements of the input, near the middle leaf, so
+   * {@code parallel()} divides the work evenly.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param list Input list
+   * @return Flattened stream
+   * @since 1.5.0
+   */
+  public static <T, R> Stream<R> flattenStream(List<T> list) {
+    return StreamSupport.stream(new LeafSpliterator<R>(list), false);
+  }
+
+  /**
+   * Returns a sequential Stream of the elements of the flattened input array.
+   * <p>
+   * Elements are streamed in the order {@link #flatten(Object[])} would hold them, except that
+   * arrays of primitives are streamed whole rather than joined. The leaves are counted when the
+   * Stream is created, without copying them, so its exact size is known; they are read in place
+   * during traversal. Splitting falls between elements of the input, near the middle leaf, so
+   * {@code parallel()} divides the work evenly.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param list Input array
+   * @return Flattened stream
+   * @since 1.5.0
+   */
+  public static <T, R> Stream<R> flattenStream(T[] list) {
+    return flattenStream(Arrays.asList(list));
+  }
+
+  /**
+   * Passes every element of the flattened input List to {@code action}, without building the
+   * flattened List.
+   * <p>
+   * Elements are passed in the order {@link #flatten(List)} would hold them, except that arrays of
+   * primitives are passed whole rather than joined. Only the Lists and arrays being walked are
+   * tracked, so memory use grows with the nesting depth rather than the number of elements.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic element class identifier
+   * @param list Input list
+   * @param action Receiver of each element
+   * @since 1.5.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> void flattenEach(List<T> list, Consumer<? super R> action) {
+    FlattenEngine.each(list, -1, element -> {
+      action.accept((R) element);
+      return true;
+    });
+  }
+
+  /**
+   * Passes every element of the flattened input List to {@code action}, without building the
+   * flattened List. Recursion is limited to {@code level} iterations, as by
+   * {@link #flatten(List, int)}.
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic element class identifier
+   * @param list Input list
+   * @param level Level of recursion to flatten
+   * @param action Receiver of each element
+   * @since 1.5.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> void flattenEach(List<T> list, int level, Consumer<? super R> action) {
+    FlattenEngine.each(list, level, element -> {
+      action.accept((R) element);
+      return true;
+    });
+  }
+
+  /**
+   * Passes the elements of the flattened input List to {@code action} until it returns
+   * {@code false}, without building the flattened List.
+   * <p>
+   * Elements are passed as by {@link #flattenEach(List, Consumer)}. The walk stops as soon as
+   * {@code action} returns {@code false}, so no further element is read.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic element class identifier
+   * @param list Input list
+   * @param action Receiver of each element, returning whether to continue
+   * @return Whether every element was passed
+   * @since 1.5.0
+   */
+  public static <T, R> boolean flattenWhile(List<T> list, Predicate<? super R> action) {
+    return flattenWhile(list, -1, action);
+  }
+
+  /**
+   * Passes the elements of the flattened input List to {@code action} until it returns
+   * {@code false}, without building the flattened List. Recursion is limited to {@code level}
+   * iterations, as by {@link #flatten(List, int)}.
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic element class identifier
+   * @param list Input list
+   * @param level Level of recursion to flatten
+   * @param action Receiver of each element, returning whether to continue
+   * @return Whether every element was passed
+   * @since 1.5.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> boolean flattenWhile(List<T> list, int level,
+      Predicate<? super R> action) {
+    return FlattenEngine.each(list, level, element -> action.test((R) element));
+  }
+
+  /**
+   * Returns a Collector that flattens the elements of a Stream into a new List, as
+   * {@link #flatten(List)} would on a List of them.
+   * <p>
+   * Elements are gathered by reference, and their contents are copied once, when the result is
+   * built, into a List sized to hold them. Partial results of a parallel Stream are merged by
+   * linking them rather than copying, so collecting in parallel costs no more copies than
+   * collecting sequentially.
+   * </p>
+   *
+   * @param <R> Generic element class identifier
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static <R> Collector<Object, ?, List<R>> flattening() {
+    return FlattenCollectors.flattening(-1);
+  }
+
+  /**
+   * Returns a Collector that flattens the elements of a Stream into a new List, to at most
+   * {@code level} levels, as {@link #flatten(List, int)} would on a List of them.
+   * <p>
+   * Elements are gathered by reference, and their contents are copied once, when the result is
+   * built. A {@code level} of 0 collects the elements as they are.
+   * </p>
+   *
+   * @param <R> Generic element class identifier
+   * @param level Level of recursion to flatten
+   * @return Flattening Collector
+   * @since 1.5.0
+   */
+  public static <R> Collector<Object, ?, List<R>> flattening(int level) {
+    return FlattenCollectors.flattening(level);
+  }
+
+  /**
+   * Returns a new List of the input List flattened, copied in parallel.
+   * <p>
+   * The result holds the elements {@link #flatten(List)} would, including the single joined array
+   * when every leaf is an array of the same primitive type. The copy is divided among the common
+   * {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param list Input list
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static <T, R> List<R> parallelFlatten(List<T> list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns a new List of the input List flattened, copied in parallel.
+   * <p>
+   * The result holds the elements {@link #flatten(List)} would, including the single joined array
+   * when every leaf is an array of the same primitive type. The input is divided between its
+   * elements among {@code pool}, in parts of about {@code threshold} elements of the result where
+   * the nesting allows; smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param list Input list
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> List<R> parallelFlatten(List<T> list, int threshold, ForkJoinPool pool) {
+    return (List<R>) ParallelFlatten.flatten(list, threshold, pool);
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<int[]> parallelFlatten(int[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<int[]> parallelFlatten(int[][] list, int threshold, ForkJoinPool pool) {
+    List<int[]> flat = new ArrayList<>();
+    flat.add((int[]) ParallelFlatten.flatten(list, int.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<char[]> parallelFlatten(char[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<char[]> parallelFlatten(char[][] list, int threshold, ForkJoinPool pool) {
+    List<char[]> flat = new ArrayList<>();
+    flat.add((char[]) ParallelFlatten.flatten(list, char.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<double[]> parallelFlatten(double[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<double[]> parallelFlatten(double[][] list, int threshold, ForkJoinPool pool) {
+    List<double[]> flat = new ArrayList<>();
+    flat.add((double[]) ParallelFlatten.flatten(list, double.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<boolean[]> parallelFlatten(boolean[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<boolean[]> parallelFlatten(boolean[][] list, int threshold, ForkJoinPool pool) {
+    List<boolean[]> flat = new ArrayList<>();
+    flat.add((boolean[]) ParallelFlatten.flatten(list, boolean.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<short[]> parallelFlatten(short[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<short[]> parallelFlatten(short[][] list, int threshold, ForkJoinPool pool) {
+    List<short[]> flat = new ArrayList<>();
+    flat.add((short[]) ParallelFlatten.flatten(list, short.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<long[]> parallelFlatten(long[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<long[]> parallelFlatten(long[][] list, int threshold, ForkJoinPool pool) {
+    List<long[]> flat = new ArrayList<>();
+    flat.add((long[]) ParallelFlatten.flatten(list, long.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<float[]> parallelFlatten(float[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<float[]> parallelFlatten(float[][] list, int threshold, ForkJoinPool pool) {
+    List<float[]> flat = new ArrayList<>();
+    flat.add((float[]) ParallelFlatten.flatten(list, float.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param list Input array
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<byte[]> parallelFlatten(byte[][] list) {
+    return parallelFlatten(list, ParallelFlatten.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Converts an array of primitive arrays into a List of one primitive array, copying in parallel.
+   * <p>
+   * The copy is divided among {@code pool} in parts of at most {@code threshold} elements;
+   * smaller inputs are copied on the calling thread.
+   * </p>
+   *
+   * @param list Input array
+   * @param threshold Number of elements below which the copy is not divided further
+   * @param pool Pool to copy on
+   * @return Flattened list
+   * @since 1.5.0
+   */
+  public static List<byte[]> parallelFlatten(byte[][] list, int threshold, ForkJoinPool pool) {
+    List<byte[]> flat = new ArrayList<>();
+    flat.add((byte[]) ParallelFlatten.flatten(list, byte.class, threshold, pool));
+    return flat;
+  }
+
+  /**
+   * Writes the contents of every file of {@code sources}, one after another, to {@code target}.
+   * <p>
+   * This is the out-of-core counterpart of flattening an array of primitive arrays, for rows kept
+   * in files of raw elements rather than in memory. The files are copied by the operating system
+   * where possible, without passing through the heap.
+   * </p>
+   *
+   * @param sources Files of raw primitive elements
+   * @param target File to write, replaced if it exists
+   * @return Number of bytes written
+   * @throws IOException if a file cannot be read or written
+   * @since 1.5.0
+   */
+  public static long flattenFiles(List<Path> sources, Path target) throws IOException {
+    return OutOfCore.flatten(sources, target);
+  }
+
+  /**
+   * Ensures the size of {@code list} is at least {@code size}.
+   * <p>
+   * If the list size is less than required, {@code null} is appended until the values are equal.
+   * </p>
+   * <p>
+   * Note that it is considered best practice to use interfaces over implementations of those
+   * interfaces where possible, but in cases where an {@code ArrayList} must be used, this version
+   * can be faster.
+   * </p>
+   *
+   * @param list List to be resized
+   * @param size Required size
+   * @since 1.2.0
+   */
+  public static void ensureSize(ArrayList<?> list, int size) {
+    pad(list, size, null);
+  }
+
+  /**
+   * Ensures the size of {@code list} is at least {@code size}.
+   * <p>
+   * If the list size is less than required, {@code null} is appended until the values are equal.
+   * </p>
+   *
+   * @param list List to be resized
+   * @param size Required size
+   * @since 1.2.0
+   */
+  public static void ensureSize(List<?> list, int size) {
+    pad(list, size, null);
+  }
+
+  /**
+   * Ensures the size of {@code list} is at least {@code size}.
+   * <p>
+   * If the list size is less than required, {@code fill} is appended until the values are equal.
+   * The values are appended in bulk, and an {@code ArrayList} grows its capacity only once.
+   * </p>
+   *
+   * @param <T> Generic element class identifier
+   * @param list List to be resized
+   * @param size Required size
+   * @param fill Value to append
+   * @since 1.5.0
+   */
+  public static <T> void ensureSize(List<? super T> list, int size, T fill) {
+    pad(list, size, fill);
+  }
+
+  /**
+   * Ensures the size of {@code list} is at least {@code size}.
+   * <p>
+   * If the list size is less than required, values from {@code fill} are appended until the
+   * values are equal. An {@code ArrayList} grows its capacity only once.
+   * </p>
+   *
+   * @param <T> Generic element class identifier
+   * @param list List to be resized
+   * @param size Required size
+   * @param fill Supplier of each value to append
+   * @since 1.5.0
+   */
+  public static <T> void ensureSizeWith(List<? super T> list, int size,
+      Supplier<? extends T> fill) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int missing = size - list.size();
+    if (list instanceof ArrayList<?>) {
+      ((ArrayList<?>) list).ensureCapacity(size);
+    }
+    while (list.size() < size) {
+      list.add(fill.get());
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.ENSURE_SIZE, Math.max(missing, 0), 0);
+    }
+  }
+
+  /**
+   * Returns a fixed-size List view of {@code list} padded to at least {@code size} elements.
+   * <p>
+   * Positions past the end of {@code list} read as {@code fill} without being stored; only
+   * positions that are set are stored, so padding to a large size allocates nothing up front.
+   * Positions within {@code list} read and write through to it. The view's size is fixed when it
+   * is created, so {@code list} should not change size while it is in use.
+   * </p>
+   *
+   * @param <T> Generic element class identifier
+   * @param list List to pad
+   * @param size Required size
+   * @param fill Value of the padding positions
+   * @return Padded view
+   * @since 1.5.0
+   */
+  public static <T> List<T> padded(List<T> list, int size, T fill) {
+    return PaddedList.of(list, size, fill);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input List.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> List, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param original Input list
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> List<R> transpose(List<T> original) {
+    if (original.isEmpty()) {
+      return (List<R>) original;
+    }
+    Containers.Dispatch dispatch = Containers.of(original.get(0));
+    if (dispatch.kind == Containers.Kind.PRIMITIVE_ARRAY) {
+      return (List<R>) dispatch.transpose(original);
+    }
+    if (!(original.get(0) instanceof List<?> || original.get(0) instanceof Object[])) {
+      return (List<R>) original;
+    }
+    return (List<R>) RaggedTranspose.transposeRows(original.toArray());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> List<R> transpose(T[] original) {
+    return (List<R>) RaggedTranspose.transposeRows(original);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<int[]> transpose(int[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Integer.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<int[]> transpose(int[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      int[][] transposed = new int[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<int[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new int[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(int[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(int[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<int[]> transpose(int[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    int[][] transposed = new int[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.intArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Integer.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link IntList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<IntList> transposeToLists(int[][] original) {
+    List<int[]> transposed = transpose(original);
+    List<IntList> lists = new ArrayList<>(transposed.size());
+    for (int[] column : transposed) {
+      lists.add(IntList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<int[]> transposeRagged(int[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    int[][] transposed = new int[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new int[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (int[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(int[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<int[]> transposeRagged(int[][] original, int fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    int[][] transposed = new int[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      int[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<double[]> transpose(double[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Double.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<double[]> transpose(double[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      double[][] transposed = new double[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<double[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new double[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(double[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(double[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<double[]> transpose(double[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    double[][] transposed = new double[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.doubleArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Double.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link DoubleList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<DoubleList> transposeToLists(double[][] original) {
+    List<double[]> transposed = transpose(original);
+    List<DoubleList> lists = new ArrayList<>(transposed.size());
+    for (double[] column : transposed) {
+      lists.add(DoubleList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<double[]> transposeRagged(double[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    double[][] transposed = new double[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new double[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (double[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(double[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<double[]> transposeRagged(double[][] original, double fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    double[][] transposed = new double[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      double[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<byte[]> transpose(byte[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Byte.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<byte[]> transpose(byte[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      byte[][] transposed = new byte[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<byte[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new byte[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(byte[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(byte[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<byte[]> transpose(byte[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    byte[][] transposed = new byte[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.byteArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Byte.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link ByteList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<ByteList> transposeToLists(byte[][] original) {
+    List<byte[]> transposed = transpose(original);
+    List<ByteList> lists = new ArrayList<>(transposed.size());
+    for (byte[] column : transposed) {
+      lists.add(ByteList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<byte[]> transposeRagged(byte[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    byte[][] transposed = new byte[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new byte[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (byte[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(byte[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<byte[]> transposeRagged(byte[][] original, byte fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    byte[][] transposed = new byte[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      byte[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<float[]> transpose(float[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Float.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<float[]> transpose(float[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      float[][] transposed = new float[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<float[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new float[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(float[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(float[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<float[]> transpose(float[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    float[][] transposed = new float[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.floatArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Float.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link FloatList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<FloatList> transposeToLists(float[][] original) {
+    List<float[]> transposed = transpose(original);
+    List<FloatList> lists = new ArrayList<>(transposed.size());
+    for (float[] column : transposed) {
+      lists.add(FloatList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<float[]> transposeRagged(float[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    float[][] transposed = new float[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new float[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (float[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(float[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<float[]> transposeRagged(float[][] original, float fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    float[][] transposed = new float[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      float[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<long[]> transpose(long[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Long.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<long[]> transpose(long[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      long[][] transposed = new long[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<long[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new long[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(long[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(long[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<long[]> transpose(long[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    long[][] transposed = new long[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.longArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Long.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link LongList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<LongList> transposeToLists(long[][] original) {
+    List<long[]> transposed = transpose(original);
+    List<LongList> lists = new ArrayList<>(transposed.size());
+    for (long[] column : transposed) {
+      lists.add(LongList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<long[]> transposeRagged(long[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    long[][] transposed = new long[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new long[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (long[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(long[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<long[]> transposeRagged(long[][] original, long fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    long[][] transposed = new long[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      long[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<short[]> transpose(short[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Short.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<short[]> transpose(short[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      short[][] transposed = new short[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<short[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new short[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(short[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(short[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<short[]> transpose(short[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    short[][] transposed = new short[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.shortArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Short.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link ShortList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<ShortList> transposeToLists(short[][] original) {
+    List<short[]> transposed = transpose(original);
+    List<ShortList> lists = new ArrayList<>(transposed.size());
+    for (short[] column : transposed) {
+      lists.add(ShortList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<short[]> transposeRagged(short[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    short[][] transposed = new short[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new short[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (short[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(short[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<short[]> transposeRagged(short[][] original, short fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    short[][] transposed = new short[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      short[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<char[]> transpose(char[][] original) {
+    return transpose(original, TiledTranspose.tileSize(Character.BYTES));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<char[]> transpose(char[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
     int rows = original.length;
     int columns = original[0].length;
-    List<int[]> transposed = new ArrayList<>();
+    if (TiledTranspose.isRectangular(original)) {
+      char[][] transposed = new char[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<char[]> transposed = new ArrayList<>();
     next:
     for (int j = 0; j < columns; j++) {
-      transposed.add(new int[rows]);
+      transposed.add(new char[rows]);
+      for (int i = 0; i < rows; i++) {
+        if (original[i].length > columns) {
+          columns = original[i].length;
+        }
+        if (original[i].length > j) {
+          transposed.get(j)[i] = original[i][j];
+        } else {
+          continue next;
+        }
+      }
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(char[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(char[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<char[]> transpose(char[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    char[][] transposed = new char[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.charArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(Character.BYTES));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link CharList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<CharList> transposeToLists(char[][] original) {
+    List<char[]> transposed = transpose(original);
+    List<CharList> lists = new ArrayList<>(transposed.size());
+    for (char[] column : transposed) {
+      lists.add(CharList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<char[]> transposeRagged(char[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    char[][] transposed = new char[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new char[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (char[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(char[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<char[]> transposeRagged(char[][] original, char fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    char[][] transposed = new char[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      char[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.4.0
+   */
+  public static List<boolean[]> transpose(boolean[][] original) {
+    return transpose(original, TiledTranspose.tileSize(1));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * </p>
+   * <p>
+   * Rectangular input is transposed in square tiles of {@code tileSize} by {@code tileSize}
+   * elements, so that the rows read and the columns written stay in cache together.
+   * </p>
+   *
+   * @param original Input array
+   * @param tileSize Side length of a tile
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<boolean[]> transpose(boolean[][] original, int tileSize) {
+    TiledTranspose.checkTileSize(tileSize);
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int rows = original.length;
+    int columns = original[0].length;
+    if (TiledTranspose.isRectangular(original)) {
+      boolean[][] transposed = new boolean[columns][rows];
+      TiledTranspose.transpose(original, transposed, 0, columns, tileSize);
+      if (probe != null) {
+        probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * columns, 2);
+      }
+      return new ArrayList<>(Arrays.asList(transposed));
+    }
+    List<boolean[]> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      transposed.add(new boolean[rows]);
       for (int i = 0; i < rows; i++) {
         if (original[i].length > columns) {
           columns = original[i].length;
@@ -615,223 +3315,719 @@ public class ListUtility {
         }
       }
     }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.TRANSPOSE, (long) rows * transposed.size(), 2);
+    }
     return transposed;
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns the matrix transposition on the input array as a {@link PrimitiveBuffer}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> matrix laid out
+   * row by row, so that its element (<i>y</i>, <i>x</i>) is at index
+   * {@code y * original.length + x}. With {@link Storage#OFF_HEAP}, the result is kept outside
+   * the garbage-collected heap.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @param storage Where to keep the result
+   * @return Transposed buffer
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static PrimitiveBuffer transpose(boolean[][] original, Storage storage) {
+    return PrimitiveBuffer.transpose(original, storage);
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * with rows drawn from {@code arena}.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List, as by
+   * {@link #transpose(boolean[][])}. Hand the rows back with {@link BufferArena#releaseAll} once done,
+   * so that later calls can reuse them. Input whose rows differ in length is transposed into new
+   * arrays.
+   * </p>
+   *
+   * @param original Input array
+   * @param arena Arena to draw the rows of the result from
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<boolean[]> transpose(boolean[][] original, BufferArena arena) {
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = original[0].length;
+    boolean[][] transposed = new boolean[columns][];
+    for (int j = 0; j < columns; j++) {
+      transposed[j] = arena.booleanArray(rows);
+    }
+    TiledTranspose.transpose(original, transposed, 0, columns, TiledTranspose.tileSize(1));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a List of {@link BooleanList}s.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a List of <i>j</i> lists of <i>i</i>
+   * elements each, without boxing.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<BooleanList> transposeToLists(boolean[][] original) {
+    List<boolean[]> transposed = transpose(original);
+    List<BooleanList> lists = new ArrayList<>(transposed.size());
+    for (boolean[] column : transposed) {
+      lists.add(BooleanList.wrap(column));
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, leaving out the missing elements.
+   * <p>
+   * Column <i>j</i> of the result holds element <i>j</i> of every row longer than <i>j</i>, in
+   * row order, so it is shorter than {@code original.length} when some rows are. The time taken
+   * grows with the number of elements, not with the rows times the longest row.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @return Transposed list, with one array per column of the longest row
+   * @since 1.5.0
+   */
+  public static List<boolean[]> transposeRagged(boolean[][] original) {
+    int[] lengths = RaggedTranspose.columnLengths(original);
+    boolean[][] transposed = new boolean[lengths.length][];
+    for (int j = 0; j < lengths.length; j++) {
+      transposed[j] = new boolean[lengths[j]];
+    }
+    int[] filled = new int[lengths.length];
+    for (boolean[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][filled[j]++] = row[j];
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the transposition of a ragged input array, with {@code fill} in place of the missing
+   * elements.
+   * <p>
+   * Given rows of up to <i>j</i> elements, the result holds <i>j</i> arrays of
+   * {@code original.length} elements. Element <i>i</i> of column <i>j</i> is {@code fill} when
+   * row <i>i</i> has no element <i>j</i>. Rectangular input is transposed as by
+   * {@link #transpose(boolean[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the missing elements
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<boolean[]> transposeRagged(boolean[][] original, boolean fill) {
+    if (original.length > 0 && TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
+    int rows = original.length;
+    int columns = RaggedTranspose.columns(original);
+    boolean[][] transposed = new boolean[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      boolean[] row = original[i];
+      for (int j = 0; j < row.length; j++) {
+        transposed[j][i] = row[j];
+      }
+      for (int j = row.length; j < columns; j++) {
+        transposed[j][i] = fill;
+      }
+    }
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns the matrix transposition on the input array as a bit-packed {@link BitMatrix}.
+   * <p>
+   * The input is packed 64 elements to a word and transposed in 64-by-64 blocks of bits, so the
+   * result takes an eighth of the memory of {@link #transpose(boolean[][])}.
+   * </p>
+   *
+   * @param original Input array, whose rows must all be of the same length
+   * @return Transposed matrix
+   * @throws IllegalArgumentException if the rows differ in length
+   * @since 1.5.0
+   */
+  public static BitMatrix transposeToBitMatrix(boolean[][] original) {
+    return BitMatrix.of(original).transpose();
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input List,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> List, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param original Input list
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static <T, R> List<R> parallelTranspose(List<T> original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input List,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> List, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(List)}.
+   * </p>
+   *
+   * @param <T> Generic input class identifier
+   * @param <R> Generic return class identifier
+   * @param original Input list
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R> List<R> parallelTranspose(List<T> original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (original.isEmpty()) {
+      return (List<R>) original;
+    }
+    Containers.Dispatch dispatch = Containers.of(original.get(0));
+    if (dispatch.kind == Containers.Kind.PRIMITIVE_ARRAY) {
+      return (List<R>) dispatch.parallelTranspose(original, threshold, pool);
+    }
+    if (!(original.get(0) instanceof List<?> || original.get(0) instanceof Object[])) {
+      return (List<R>) original;
+    }
+    Object[] rows = original.toArray();
+    int columns = rectangularColumns(rows);
+    if (columns < 0) {
+      return transpose(original);
+    }
+    for (int i = 0; i < rows.length; i++) {
+      // Bands read every row by index, so copy out the rows that cannot be read that way
+      if (rows[i] instanceof List<?> && !(rows[i] instanceof RandomAccess)) {
+        rows[i] = ((List<?>) rows[i]).toArray();
+      }
+    }
+    Object[] transposed = new Object[columns];
+    ParallelTranspose.run(rows.length, columns, 1, threshold, pool, (from, to) -> {
+      for (int j = from; j < to; j++) {
+        List<Object> column = new ArrayList<>(rows.length);
+        for (Object row : rows) {
+          column.add(row instanceof List<?> ? ((List<?>) row).get(j) : ((Object[]) row)[j]);
+        }
+        transposed[j] = column;
+      }
+    });
+    return (List<R>) new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<int[]> parallelTranspose(int[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(int[][])}.
    * </p>
    *
    * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<double[]> transpose(double[][] original) {
+  public static List<int[]> parallelTranspose(int[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<double[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new double[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
-      }
-    }
-    return transposed;
+    int tile = TiledTranspose.tileSize(Integer.BYTES);
+    int[][] transposed = new int[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
    * </p>
    *
    * @param original Input array
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<byte[]> transpose(byte[][] original) {
+  public static List<char[]> parallelTranspose(char[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(char[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<char[]> parallelTranspose(char[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<byte[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new byte[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
-      }
-    }
-    return transposed;
+    int tile = TiledTranspose.tileSize(Character.BYTES);
+    char[][] transposed = new char[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
    * </p>
    *
    * @param original Input array
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<float[]> transpose(float[][] original) {
+  public static List<double[]> parallelTranspose(double[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(double[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<double[]> parallelTranspose(double[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<float[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new float[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
-      }
-    }
-    return transposed;
+    int tile = TiledTranspose.tileSize(Double.BYTES);
+    double[][] transposed = new double[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
    * </p>
    *
    * @param original Input array
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<long[]> transpose(long[][] original) {
+  public static List<boolean[]> parallelTranspose(boolean[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(boolean[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<boolean[]> parallelTranspose(boolean[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<long[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new long[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
-      }
-    }
-    return transposed;
+    int tile = TiledTranspose.tileSize(1);
+    boolean[][] transposed = new boolean[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
    * </p>
    *
    * @param original Input array
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<short[]> transpose(short[][] original) {
+  public static List<short[]> parallelTranspose(short[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(short[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<short[]> parallelTranspose(short[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<short[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new short[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
-      }
-    }
-    return transposed;
+    int tile = TiledTranspose.tileSize(Short.BYTES);
+    short[][] transposed = new short[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
    * </p>
    *
    * @param original Input array
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<char[]> transpose(char[][] original) {
+  public static List<long[]> parallelTranspose(long[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(long[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<long[]> parallelTranspose(long[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<char[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new char[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
-      }
+    int tile = TiledTranspose.tileSize(Long.BYTES);
+    long[][] transposed = new long[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
+   * </p>
+   *
+   * @param original Input array
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<float[]> parallelTranspose(float[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(float[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<float[]> parallelTranspose(float[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
     }
-    return transposed;
+    int rows = original.length;
+    int columns = original[0].length;
+    int tile = TiledTranspose.tileSize(Float.BYTES);
+    float[][] transposed = new float[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
   }
 
   /**
-   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array.
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
    * <p>
-   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List.
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands that are transposed concurrently on the common {@code ForkJoinPool}.
    * </p>
    *
    * @param original Input array
    * @return Transposed list
-   * @since 1.4.0
+   * @since 1.5.0
    */
-  public static List<boolean[]> transpose(boolean[][] original) {
+  public static List<byte[]> parallelTranspose(byte[][] original) {
+    return parallelTranspose(original, ParallelTranspose.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an <i>n</i>-dimensional List that is the matrix transposition on the input array,
+   * computed in parallel.
+   * <p>
+   * Given an <i>i</i>-by-<i>j</i> array, transpose it to a <i>j</i>-by-<i>i</i> List. The columns
+   * are divided into bands of at most {@code threshold} elements that are transposed concurrently
+   * on {@code pool}; smaller inputs are transposed on the calling thread. Input whose rows differ
+   * in length is transposed as by {@link #transpose(byte[][])}.
+   * </p>
+   *
+   * @param original Input array
+   * @param threshold Number of elements below which the columns are not divided further
+   * @param pool Pool to transpose on
+   * @return Transposed list
+   * @since 1.5.0
+   */
+  public static List<byte[]> parallelTranspose(byte[][] original, int threshold,
+      ForkJoinPool pool) {
+    ParallelTranspose.checkArguments(threshold, pool);
+    if (!TiledTranspose.isRectangular(original)) {
+      return transpose(original);
+    }
     int rows = original.length;
     int columns = original[0].length;
-    List<boolean[]> transposed = new ArrayList<>();
-    next:
-    for (int j = 0; j < columns; j++) {
-      transposed.add(new boolean[rows]);
-      for (int i = 0; i < rows; i++) {
-        if (original[i].length > columns) {
-          columns = original[i].length;
-        }
-        if (original[i].length > j) {
-          transposed.get(j)[i] = original[i][j];
-        } else {
-          continue next;
-        }
+    int tile = TiledTranspose.tileSize(Byte.BYTES);
+    byte[][] transposed = new byte[columns][rows];
+    ParallelTranspose.run(rows, columns, tile, threshold, pool,
+        (from, to) -> TiledTranspose.transpose(original, transposed, from, to, tile));
+    return new ArrayList<>(Arrays.asList(transposed));
+  }
+
+  /**
+   * Writes the matrix transposition of a file of raw primitive elements to another file.
+   * <p>
+   * Given a file holding an <i>i</i>-by-<i>j</i> matrix of {@code type} elements row by row,
+   * write the <i>j</i>-by-<i>i</i> transposition row by row to {@code target}. The source is read
+   * through memory mapping in blocks, so the matrix may be larger than memory while heap use stays
+   * bounded. Elements are moved without being interpreted, so any byte order is kept as it is.
+   * </p>
+   *
+   * @param source File of raw elements, row by row
+   * @param target File to write, replaced if it exists
+   * @param type Primitive element type, such as {@code double.class}
+   * @param rows Number of rows in {@code source}
+   * @param columns Number of columns in {@code source}
+   * @throws IOException if a file cannot be read or written, or {@code source} is too short
+   * @since 1.5.0
+   */
+  public static void transposeFile(Path source, Path target, Class<?> type, int rows, int columns)
+      throws IOException {
+    if (!type.isPrimitive() || type == void.class) {
+      throw new IllegalArgumentException("Not a primitive type: " + type);
+    }
+    OutOfCore.transpose(source, target, PrimitiveBuffer.elementBytes(type), rows, columns);
+  }
+
+  /**
+   * Returns the shared length of {@code rows} if every row is a List or array of objects of that
+   * length, or -1 otherwise.
+   */
+  private static int rectangularColumns(Object[] rows) {
+    int columns = -1;
+    for (Object row : rows) {
+      int length;
+      if (row instanceof List<?>) {
+        length = ((List<?>) row).size();
+      } else if (row instanceof Object[]) {
+        length = ((Object[]) row).length;
+      } else {
+        return -1;
       }
+      if (columns >= 0 && length != columns) {
+        return -1;
+      }
+      columns = length;
+    }
+    return columns;
+  }
+
+  /**
+   * Appends {@code fill} to {@code list} until its size is {@code size}, a block at a time, growing
+   * the capacity of an {@code ArrayList} only once.
+   */
+  @SuppressWarnings("unchecked")
+  private static void pad(List<?> list, int size, Object fill) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int missing = size - list.size();
+    if (missing > 0 && list instanceof ArrayList<?>) {
+      ((ArrayList<?>) list).ensureCapacity(size);
+    }
+    int added = Math.max(missing, 0);
+    while (missing > 0) {
+      int block = Math.min(missing, PAD_BLOCK);
+      ((List<Object>) list).addAll(Collections.nCopies(block, fill));
+      missing -= block;
+    }
+    if (probe != null) {
+      probe.end(Instrumentation.Operation.ENSURE_SIZE, added, 0);
+    }
+  }
+
+  /**
+   * Returns the array held by a List of one array, as {@code flatten} returns.
+   */
+  private static <A> A single(List<A> flattened) {
+    if (flattened.size() != 1) {
+      throw new IllegalArgumentException("Expected a List of one array, but found "
+          + flattened.size() + " elements");
+    }
+    return flattened.get(0);
+  }
+
+  /**
+   * Returns the total number of elements in an array of primitive arrays.
+   */
+  private static int flatSize(Object[] list) {
+    long size = 0;
+    for (Object arr : list) {
+      size += Array.getLength(arr);
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Flattened array would exceed " + Integer.MAX_VALUE
+          + " elements");
+    }
+    return (int) size;
+  }
+
+  /**
+   * Ensures that {@code size} elements fit in an array of {@code length} from {@code offset} on.
+   */
+  private static void checkDestination(int size, int length, int offset) {
+    if (offset < 0 || offset > length || size > length - offset) {
+      throw new IndexOutOfBoundsException("Cannot write " + size + " elements at offset " + offset
+          + " of an array of length " + length);
     }
-    return transposed;
   }
 }
@@ -0,0 +1,188 @@
+package listutils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * File-to-file flattening and transposition of primitive data too large to hold in memory.
+ * <p>
+ * Files hold elements back to back with no header. Transposition never looks inside an element,
+ * only moves it, so it works the same for every byte order and needs only the element width.
+ * </p>
+ */
+final class OutOfCore {
+
+  /** Most bytes of the source mapped at once. */
+  private static final long WINDOW_BYTES = 256L << 20;
+  /** Most bytes held in the heap scratch tile. */
+  private static final int SCRATCH_BYTES = 16 << 20;
+
+  private OutOfCore(){}
+
+  /**
+   * Writes the contents of every file of {@code sources}, one after another, to {@code target}.
+   *
+   * @param sources Files to join
+   * @param target File to write, replaced if it exists
+   * @return Number of bytes written
+   * @throws IOException if a file cannot be read or written, or a source shrinks while it is
+   *     copied
+   */
+  static long flatten(List<Path> sources, Path target) throws IOException {
+    try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      long position = 0;
+      for (Path source : sources) {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+          long size = in.size();
+          long copied = 0;
+          while (copied < size) {
+            long transferred = in.transferTo(copied, size - copied, out);
+            if (transferred == 0) {
+              // The source shrank while it was copied
+              throw new EOFException(source + " ended after " + copied + " of " + size
+                  + " bytes");
+            }
+            copied += transferred;
+          }
+          position += size;
+        }
+      }
+      return position;
+    }
+  }
+
+  /**
+   * Writes the transposition of the {@code rows}-by-{@code columns} row-major matrix in
+   * {@code source} to {@code target}, row-major.
+   * <p>
+   * The matrix is processed in bands of rows, each mapped once and cut into roughly square
+   * tiles that fill a bounded heap scratch area. Each tile is transposed into the scratch area
+   * and written out as one contiguous run per output row, so heap use stays bounded and both
+   * files are accessed in runs of kilobytes. Rows too wide for a mapped window are read a tile
+   * at a time instead.
+   * </p>
+   *
+   * @param source Row-major input file
+   * @param target File to write, replaced if it exists
+   * @param elementBytes Width of one element: 1, 2, 4 or 8
+   * @param rows Number of rows in {@code source}
+   * @param columns Number of columns in {@code source}
+   * @throws IOException if a file cannot be read or written, or {@code source} is too short
+   */
+  static void transpose(Path source, Path target, int elementBytes, int rows, int columns)
+      throws IOException {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Negative dimension: " + rows + " by " + columns);
+    }
+    long rowBytes = (long) columns * elementBytes;
+    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+        FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      if (in.size() < rowBytes * rows) {
+        throw new EOFException(source + " holds " + in.size() + " bytes, but a " + rows + " by "
+            + columns + " matrix needs " + rowBytes * rows);
+      }
+      if (rows == 0 || columns == 0) {
+        return;
+      }
+      // Square tiles make both the source rows and the output runs of a tile equally long
+      int side = (int) Math.sqrt(SCRATCH_BYTES / elementBytes);
+      int bandRows = Math.min(rows, side);
+      int tileColumns = Math.max(1, Math.min(columns, SCRATCH_BYTES / (bandRows * elementBytes)));
+      // Rows of a band per mapped window, or 0 if a single row is wider than a window
+      int windowRows = (int) Math.min(bandRows, WINDOW_BYTES / rowBytes);
+      ByteBuffer scratch = ByteBuffer.allocate(bandRows * tileColumns * elementBytes)
+          .order(ByteOrder.nativeOrder());
+      ByteBuffer[] windows = new ByteBuffer[windowRows == 0 ? 0
+          : (bandRows + windowRows - 1) / windowRows];
+      ByteBuffer slice = windowRows == 0
+          ? ByteBuffer.allocate(tileColumns * elementBytes).order(ByteOrder.nativeOrder()) : null;
+      for (int r0 = 0; r0 < rows; r0 += bandRows) {
+        int r1 = Math.min(r0 + bandRows, rows);
+        int height = r1 - r0;
+        for (int k = 0, w0 = r0; k < windows.length && w0 < r1; k++, w0 += windowRows) {
+          int w1 = Math.min(w0 + windowRows, r1);
+          windows[k] = in.map(FileChannel.MapMode.READ_ONLY, w0 * rowBytes, (w1 - w0) * rowBytes)
+              .order(ByteOrder.nativeOrder());
+        }
+        for (int c0 = 0; c0 < columns; c0 += tileColumns) {
+          int c1 = Math.min(c0 + tileColumns, columns);
+          int width = c1 - c0;
+          if (slice == null) {
+            for (int k = 0, w0 = 0; w0 < height; k++, w0 += windowRows) {
+              transposeTile(windows[k], (int) rowBytes, c0 * elementBytes, scratch, height, w0,
+                  Math.min(windowRows, height - w0), width, elementBytes);
+            }
+          } else {
+            for (int i = 0; i < height; i++) {
+              slice.clear().limit(width * elementBytes);
+              long position = (r0 + i) * rowBytes + (long) c0 * elementBytes;
+              while (slice.hasRemaining()) {
+                int read = in.read(slice, position);
+                if (read < 0) {
+                  throw new EOFException(source + " ended at byte " + position);
+                }
+                position += read;
+              }
+              transposeTile(slice, 0, 0, scratch, height, i, 1, width, elementBytes);
+            }
+          }
+          int runBytes = height * elementBytes;
+          for (int j = c0; j < c1; j++) {
+            ByteBuffer run = scratch.duplicate();
+            run.position((j - c0) * runBytes);
+            run.limit(run.position() + runBytes);
+            long position = ((long) j * rows + r0) * elementBytes;
+            while (run.hasRemaining()) {
+              position += out.write(run, position);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Transposes {@code count} rows of {@code width} elements, starting {@code rowBytes} apart and
+   * {@code offset} bytes into {@code source}, into {@code scratch}, where each tile column is a
+   * run of {@code height} elements and the rows land from index {@code first} of each run.
+   */
+  private static void transposeTile(ByteBuffer source, int rowBytes, int offset,
+      ByteBuffer scratch, int height, int first, int count, int width, int elementBytes) {
+    for (int r = 0; r < count; r++) {
+      int rowStart = r * rowBytes + offset;
+      int i = first + r;
+      switch (elementBytes) {
+        case 8:
+          for (int j = 0; j < width; j++) {
+            scratch.putLong((j * height + i) << 3, source.getLong(rowStart + (j << 3)));
+          }
+          break;
+        case 4:
+          for (int j = 0; j < width; j++) {
+            scratch.putInt((j * height + i) << 2, source.getInt(rowStart + (j << 2)));
+          }
+          break;
+        case 2:
+          for (int j = 0; j < width; j++) {
+            scratch.putShort((j * height + i) << 1, source.getShort(rowStart + (j << 1)));
+          }
+          break;
+        case 1:
+          for (int j = 0; j < width; j++) {
+            scratch.put(j * height + i, source.get(rowStart + j));
+          }
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported element width: " + elementBytes);
+      }
+    }
+  }
+}
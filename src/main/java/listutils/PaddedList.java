@@ -0,0 +1,171 @@
+package listutils;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-size List view that extends a backing List to a target size with a fill value.
+ * <p>
+ * Positions past the end of the backing List read as the fill value without being stored. Only
+ * positions that are {@code set} are stored, in a map, so padding to a large size costs nothing
+ * until slots are actually written.
+ * </p>
+ * <p>
+ * The view has random access only if the backing List does, as {@link #of} chooses, so that
+ * traversals of a view over a List without random access use its iterators.
+ * </p>
+ *
+ * @param <T> Generic element class identifier
+ */
+class PaddedList<T> extends AbstractList<T> {
+
+  private final List<T> backing;
+  private final int size;
+  private final T fill;
+  private final Map<Integer, T> written = new HashMap<>();
+
+  private PaddedList(List<T> backing, int size, T fill) {
+    this.backing = backing;
+    this.size = Math.max(size, backing.size());
+    this.fill = fill;
+  }
+
+  /**
+   * Returns a view of {@code backing} padded to {@code size}, with random access if
+   * {@code backing} has it.
+   */
+  static <T> List<T> of(List<T> backing, int size, T fill) {
+    return backing instanceof RandomAccess ? new Indexed<>(backing, size, fill)
+        : new PaddedList<>(backing, size, fill);
+  }
+
+  @Override
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    if (index < backing.size()) {
+      return backing.get(index);
+    }
+    T value = written.get(index);
+    return value != null || written.containsKey(index) ? value : fill;
+  }
+
+  @Override
+  public T set(int index, T element) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    if (index < backing.size()) {
+      return backing.set(index, element);
+    }
+    T previous = get(index);
+    written.put(index, element);
+    return previous;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns an iterator that walks the backing List with its own iterator, so traversal stays
+   * linear when the backing List has no random access, and then the padding.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return listIterator(0);
+  }
+
+  @Override
+  public ListIterator<T> listIterator(int start) {
+    if (start < 0 || start > size) {
+      throw new IndexOutOfBoundsException("Index: " + start + ", Size: " + size);
+    }
+    return new ListIterator<T>() {
+      // Stays at min(index, backing.size())
+      private final ListIterator<T> backingIterator =
+          backing.listIterator(Math.min(start, backing.size()));
+      private int index = start;
+      private int last = -1;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public T next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        T next = index < backing.size() ? backingIterator.next() : get(index);
+        last = index++;
+        return next;
+      }
+
+      @Override
+      public boolean hasPrevious() {
+        return index > 0;
+      }
+
+      @Override
+      public T previous() {
+        if (index <= 0) {
+          throw new NoSuchElementException();
+        }
+        last = --index;
+        return index < backing.size() ? backingIterator.previous() : get(index);
+      }
+
+      @Override
+      public int nextIndex() {
+        return index;
+      }
+
+      @Override
+      public int previousIndex() {
+        return index - 1;
+      }
+
+      @Override
+      public void set(T element) {
+        if (last < 0) {
+          throw new IllegalStateException();
+        }
+        if (last < backing.size()) {
+          backingIterator.set(element);
+        } else {
+          PaddedList.this.set(last, element);
+        }
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void add(T element) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Padded view of a List with random access.
+   */
+  private static final class Indexed<T> extends PaddedList<T> implements RandomAccess {
+
+    Indexed(List<T> backing, int size, T fill) {
+      super(backing, size, fill);
+    }
+  }
+}
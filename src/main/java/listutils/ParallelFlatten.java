@@ -0,0 +1,223 @@
+package listutils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join flattening of arrays of primitive arrays and nested Lists.
+ * <p>
+ * The start offset of every non-empty row is computed once. The flat output range is then divided
+ * in halves until each part holds at most a threshold number of elements, and the parts are
+ * copied concurrently. As the parts are disjoint, no synchronization is needed, and each part
+ * copies whole runs of a row with {@link System#arraycopy}.
+ * </p>
+ * <p>
+ * Nested Lists are flattened to full depth. Their leaves are counted once per element of the
+ * outer List, and the outer List is divided between its elements, so each part walks whole
+ * elements into a disjoint range of the output.
+ * </p>
+ */
+final class ParallelFlatten {
+
+  /**
+   * Default number of elements below which a part is copied without further splitting.
+   */
+  static final int DEFAULT_THRESHOLD = 1 << 16;
+
+  private ParallelFlatten(){}
+
+  /**
+   * Flattens an array of primitive arrays into a new array of {@code componentType}.
+   *
+   * @param rows Input arrays, all of the same primitive type
+   * @param componentType Component type of the rows
+   * @param threshold Elements below which a part is not split
+   * @param pool Pool to run the copy on
+   * @return Flattened array
+   */
+  static Object flatten(Object[] rows, Class<?> componentType, int threshold, ForkJoinPool pool) {
+    checkArguments(threshold, pool);
+    Object[] segments = new Object[rows.length];
+    int[] offsets = new int[rows.length + 1];
+    int count = 0;
+    long size = 0;
+    for (Object row : rows) {
+      int length = Array.getLength(row);
+      if (length == 0) {
+        continue;
+      }
+      segments[count] = row;
+      offsets[count] = (int) size;
+      count++;
+      size += length;
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Flattened array would exceed " + Integer.MAX_VALUE
+            + " elements");
+      }
+    }
+    offsets[count] = (int) size;
+    Object flat = Array.newInstance(componentType, (int) size);
+    copy(segments, count, offsets, flat, threshold, pool);
+    return flat;
+  }
+
+  /**
+   * Flattens {@code list} without limit into a new List, as {@link FlattenEngine#flatten} does.
+   * <p>
+   * The leaves are counted first, recording how many come before each element of {@code list}.
+   * The elements are then divided in halves, between the elements nearest the middle leaf, until
+   * each part holds at most {@code threshold} leaves or a single element, and each part walks its
+   * elements into its own slots of the output.
+   * </p>
+   *
+   * @param list Input list
+   * @param threshold Leaves below which a part is not split
+   * @param pool Pool to run the copy on
+   * @return Flattened list
+   */
+  static List<Object> flatten(List<?> list, int threshold, ForkJoinPool pool) {
+    checkArguments(threshold, pool);
+    FlattenEngine.Walk walk = new FlattenEngine.Walk(FlattenEngine.UNLIMITED);
+    int[] offsets = walk.offsets(list);
+    int size = offsets[offsets.length - 1];
+    if (walk.primitiveType() != null) {
+      List<Object> arrays = new ArrayList<>(size);
+      new FlattenEngine.Walk(FlattenEngine.UNLIMITED).write(list, arrays);
+      List<Object> flat = new ArrayList<>(1);
+      flat.add(flatten(arrays.toArray(), walk.primitiveType().getComponentType(), threshold,
+          pool));
+      return flat;
+    }
+    List<?> elements = list instanceof RandomAccess ? list : new ArrayList<>(list);
+    List<Object> flat = new ArrayList<>(Collections.nCopies(size, null));
+    WalkTask task = new WalkTask(elements, offsets, flat, 0, elements.size(), threshold);
+    if (size <= threshold) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+    return flat;
+  }
+
+  private static void checkArguments(int threshold, ForkJoinPool pool) {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+    }
+    Objects.requireNonNull(pool, "pool");
+  }
+
+  private static void copy(Object[] segments, int count, int[] offsets, Object flat,
+      int threshold, ForkJoinPool pool) {
+    int size = offsets[count];
+    if (size == 0) {
+      return;
+    }
+    CopyTask task = new CopyTask(segments, count, offsets, flat, 0, size, threshold);
+    if (size <= threshold) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+  }
+
+  /**
+   * Walks the elements {@code [from, to)} of a List into their slots of the output, splitting
+   * them while they hold more than the threshold of leaves.
+   */
+  private static final class WalkTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<?> list;
+    private final int[] offsets;
+    private final List<Object> flat;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    WalkTask(List<?> list, int[] offsets, List<Object> flat, int from, int to, int threshold) {
+      this.list = list;
+      this.offsets = offsets;
+      this.flat = flat;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (offsets[to] - offsets[from] <= threshold || to - from < 2) {
+        FlattenEngine.Walk walk = new FlattenEngine.Walk(FlattenEngine.UNLIMITED);
+        walk.start(list.subList(from, to));
+        int position = offsets[from];
+        for (Object leaf = walk.advance(); leaf != FlattenEngine.END; leaf = walk.advance()) {
+          flat.set(position++, leaf);
+        }
+        return;
+      }
+      int split = FlattenEngine.split(offsets, from, to);
+      invokeAll(new WalkTask(list, offsets, flat, from, split, threshold),
+          new WalkTask(list, offsets, flat, split, to, threshold));
+    }
+  }
+
+  /**
+   * Copies the flat range {@code [from, to)}, splitting it while it is above the threshold.
+   */
+  private static final class CopyTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] segments;
+    private final int count;
+    private final int[] offsets;
+    private final Object flat;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    CopyTask(Object[] segments, int count, int[] offsets, Object flat, int from, int to,
+        int threshold) {
+      this.segments = segments;
+      this.count = count;
+      this.offsets = offsets;
+      this.flat = flat;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        copyRange();
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new CopyTask(segments, count, offsets, flat, from, middle, threshold),
+          new CopyTask(segments, count, offsets, flat, middle, to, threshold));
+    }
+
+    private void copyRange() {
+      int segment = Arrays.binarySearch(offsets, 0, count, from);
+      if (segment < 0) {
+        segment = -segment - 2;
+      }
+      int position = from;
+      while (position < to) {
+        int start = position - offsets[segment];
+        int length = Math.min(offsets[segment + 1], to) - position;
+        System.arraycopy(segments[segment], start, flat, position, length);
+        position += length;
+        segment++;
+      }
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package listutils;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join transposition of rectangular matrices.
+ * <p>
+ * The columns of the input, which become the rows of the output, are divided in halves until each
+ * band holds at most a threshold number of elements. Each band is written by its own task, so no
+ * two tasks write to the same output row and no synchronization is needed.
+ * </p>
+ */
+final class ParallelTranspose {
+
+  /**
+   * Default number of elements below which a band is transposed without further splitting.
+   */
+  static final int DEFAULT_THRESHOLD = 1 << 16;
+
+  private ParallelTranspose(){}
+
+  /**
+   * Transposes one band of columns.
+   */
+  interface Band {
+
+    /**
+     * Transposes columns {@code [from, to)}.
+     *
+     * @param from First column
+     * @param to Column after the last
+     */
+    void transpose(int from, int to);
+  }
+
+  /**
+   * Ensures {@code threshold} is positive and {@code pool} is present.
+   *
+   * @param threshold Elements below which a band is not split
+   * @param pool Pool to run the bands on
+   */
+  static void checkArguments(int threshold, ForkJoinPool pool) {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+    }
+    Objects.requireNonNull(pool, "pool");
+  }
+
+  /**
+   * Transposes every column of a {@code rows}-by-{@code columns} matrix with {@code band}.
+   *
+   * @param rows Number of rows
+   * @param columns Number of columns
+   * @param minimumBand Fewest columns a band is split into, such as a tile side length
+   * @param threshold Elements below which a band is not split
+   * @param pool Pool to run the bands on
+   * @param band Transposition of one band
+   */
+  static void run(int rows, int columns, int minimumBand, int threshold, ForkJoinPool pool,
+      Band band) {
+    if (columns == 0) {
+      return;
+    }
+    BandTask task = new BandTask(band, 0, columns, Math.max(1, minimumBand),
+        Math.max(1, threshold / Math.max(1, rows)));
+    if ((long) rows * columns <= threshold) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+  }
+
+  /**
+   * Transposes the columns {@code [from, to)}, splitting them while there are too many.
+   */
+  private static final class BandTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Band band;
+    private final int from;
+    private final int to;
+    private final int minimumBand;
+    private final int maximumBand;
+
+    BandTask(Band band, int from, int to, int minimumBand, int maximumBand) {
+      this.band = band;
+      this.from = from;
+      this.to = to;
+      this.minimumBand = minimumBand;
+      this.maximumBand = maximumBand;
+    }
+
+    @Override
+    protected void compute() {
+      int width = to - from;
+      if (width <= maximumBand || width < 2 * minimumBand) {
+        band.transpose(from, to);
+        return;
+      }
+      int middle = from + (width >>> 1) / minimumBand * minimumBand;
+      invokeAll(new BandTask(band, from, middle, minimumBand, maximumBand),
+          new BandTask(band, middle, to, minimumBand, maximumBand));
+    }
+  }
+}
@@ -0,0 +1,536 @@
+package listutils;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Fixed-length sequence of primitive elements held in {@code ByteBuffer}s.
+ * <p>
+ * With {@link Storage#OFF_HEAP}, the elements live in direct buffers outside the garbage-collected
+ * heap, so large results neither fill the heap nor lengthen collections. Such memory is returned
+ * once the buffer is garbage collected. {@link #release()} drops the buffer's references to it, so
+ * it can be returned even while the {@code PrimitiveBuffer} object itself is still reachable.
+ * </p>
+ * <p>
+ * Elements are stored in native byte order, {@code boolean} elements as one byte each. The
+ * buffer is divided into chunks of at most 1 GiB, so it may hold more than
+ * {@code Integer.MAX_VALUE} elements and is indexed by {@code long}. Memory is never freed while
+ * any thread can still reach it, so releasing a buffer that other threads are reading makes their
+ * later accesses fail with an exception, but cannot crash the JVM.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class PrimitiveBuffer implements AutoCloseable {
+
+  /** Log<sub>2</sub> of the number of bytes in a full chunk. */
+  private static final int CHUNK_SHIFT = 30;
+
+  private final Class<?> type;
+  private final long length;
+  private final Storage storage;
+  private final int byteShift;
+  private final int elementShift;
+  /** Chunks of elements, or {@code null} once released. */
+  private volatile ByteBuffer[] chunks;
+
+  private PrimitiveBuffer(Class<?> type, long length, Storage storage, ByteBuffer[] chunks) {
+    this.type = type;
+    this.length = length;
+    this.storage = storage;
+    this.chunks = chunks;
+    byteShift = Integer.numberOfTrailingZeros(elementBytes(type));
+    elementShift = CHUNK_SHIFT - byteShift;
+  }
+
+  /**
+   * Returns a new zeroed buffer of {@code length} elements of the primitive type {@code type}.
+   *
+   * @param type Primitive element type, such as {@code double.class}
+   * @param length Number of elements
+   * @param storage Where to keep the elements
+   * @return New buffer
+   */
+  public static PrimitiveBuffer allocate(Class<?> type, long length, Storage storage) {
+    if (!type.isPrimitive() || type == void.class) {
+      throw new IllegalArgumentException("Not a primitive type: " + type);
+    }
+    if (length < 0 || length > Long.MAX_VALUE >>> 3) {
+      throw new IllegalArgumentException("Invalid length: " + length);
+    }
+    long bytes = length << Integer.numberOfTrailingZeros(elementBytes(type));
+    ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+    for (int i = 0; i < chunks.length; i++) {
+      int size = chunkSize(bytes, i);
+      ByteBuffer chunk = storage == Storage.OFF_HEAP ? ByteBuffer.allocateDirect(size)
+          : ByteBuffer.allocate(size);
+      chunks[i] = chunk.order(ByteOrder.nativeOrder());
+    }
+    return new PrimitiveBuffer(type, length, storage, chunks);
+  }
+
+  /**
+   * Returns a read-only buffer of {@code length} elements of {@code type} mapped from
+   * {@code channel} at {@code position}, in the byte order {@code order}. The mapping stays valid
+   * after the channel is closed, until the buffer is garbage collected.
+   *
+   * @param channel File to map
+   * @param position Byte position of the first element
+   * @param type Primitive element type
+   * @param length Number of elements
+   * @param order Byte order of the elements in the file
+   * @return Mapped buffer
+   * @throws IOException if the file cannot be mapped
+   */
+  static PrimitiveBuffer map(FileChannel channel, long position, Class<?> type, long length,
+      ByteOrder order) throws IOException {
+    long bytes = length << Integer.numberOfTrailingZeros(elementBytes(type));
+    ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+          position + ((long) i << CHUNK_SHIFT), chunkSize(bytes, i)).order(order);
+    }
+    return new PrimitiveBuffer(type, length, Storage.OFF_HEAP, chunks);
+  }
+
+  private static int chunkCount(long bytes) {
+    return (int) ((bytes + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+  }
+
+  private static int chunkSize(long bytes, int chunk) {
+    return (int) Math.min(1L << CHUNK_SHIFT, bytes - ((long) chunk << CHUNK_SHIFT));
+  }
+
+  /**
+   * Returns the number of bytes taken by one element of the primitive type {@code type}.
+   *
+   * @param type Primitive type
+   * @return Bytes per element
+   */
+  static int elementBytes(Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    }
+    if (type == int.class || type == float.class) {
+      return 4;
+    }
+    if (type == short.class || type == char.class) {
+      return 2;
+    }
+    return 1;
+  }
+
+  /**
+   * Returns a buffer of the arrays of {@code list} one after another.
+   *
+   * @param list Array of primitive arrays
+   * @param storage Where to keep the elements
+   * @return Flattened buffer
+   */
+  static PrimitiveBuffer flatten(Object[] list, Storage storage) {
+    long size = 0;
+    for (Object arr : list) {
+      size += Array.getLength(arr);
+    }
+    PrimitiveBuffer flat = allocate(list.getClass().getComponentType().getComponentType(), size,
+        storage);
+    long index = 0;
+    for (Object arr : list) {
+      int arrayLength = Array.getLength(arr);
+      flat.write(index, arr, 0, arrayLength);
+      index += arrayLength;
+    }
+    return flat;
+  }
+
+  /**
+   * Returns a buffer of the transposition of the rectangular matrix {@code original}, laid out
+   * row by row, so that element (<i>j</i>, <i>i</i>) is at {@code j * original.length + i}.
+   * <p>
+   * The columns are transposed in bands into a reused heap scratch area of about a million
+   * elements, and each band is then copied into the buffer in bulk.
+   * </p>
+   *
+   * @param original Array of primitive arrays of equal length
+   * @param storage Where to keep the elements
+   * @return Transposed buffer
+   */
+  static PrimitiveBuffer transpose(Object[] original, Storage storage) {
+    if (!TiledTranspose.isRectangular(original)) {
+      throw new IllegalArgumentException("Rows must all be of the same length");
+    }
+    Class<?> rowType = original.getClass().getComponentType();
+    Class<?> type = rowType.getComponentType();
+    int rows = original.length;
+    int columns = Array.getLength(original[0]);
+    int tile = TiledTranspose.tileSize(elementBytes(type));
+    PrimitiveBuffer transposed = allocate(type, (long) rows * columns, storage);
+    int band = Math.max(1, Math.min(columns, (1 << 20) / Math.max(1, rows)));
+    Object[] scratchRows = new Object[band];
+    for (int j = 0; j < band; j++) {
+      scratchRows[j] = Array.newInstance(type, rows);
+    }
+    Object[] scratch = (Object[]) Array.newInstance(rowType, columns);
+    for (int from = 0; from < columns; from += band) {
+      int to = Math.min(from + band, columns);
+      for (int j = from; j < to; j++) {
+        scratch[j] = scratchRows[j - from];
+      }
+      TiledTranspose.transpose(original, scratch, from, to, tile);
+      for (int j = from; j < to; j++) {
+        transposed.write((long) j * rows, scratch[j], 0, rows);
+        scratch[j] = null;
+      }
+    }
+    return transposed;
+  }
+
+  /**
+   * Returns the primitive type of the elements.
+   *
+   * @return Element type
+   */
+  public Class<?> type() {
+    return type;
+  }
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return Number of elements
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Returns where the elements are kept.
+   *
+   * @return Storage of the elements
+   */
+  public Storage storage() {
+    return storage;
+  }
+
+  /**
+   * Returns whether {@link #release()} has been called.
+   *
+   * @return Whether the buffer is released
+   */
+  public boolean isReleased() {
+    return chunks == null;
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code int} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public int getInt(long index) {
+    checkAccess(int.class, index);
+    return chunk(index).getInt(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code int} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setInt(long index, int value) {
+    checkAccess(int.class, index);
+    chunk(index).putInt(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code long} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public long getLong(long index) {
+    checkAccess(long.class, index);
+    return chunk(index).getLong(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code long} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setLong(long index, long value) {
+    checkAccess(long.class, index);
+    chunk(index).putLong(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code double} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public double getDouble(long index) {
+    checkAccess(double.class, index);
+    return chunk(index).getDouble(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code double} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setDouble(long index, double value) {
+    checkAccess(double.class, index);
+    chunk(index).putDouble(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code float} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public float getFloat(long index) {
+    checkAccess(float.class, index);
+    return chunk(index).getFloat(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code float} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setFloat(long index, float value) {
+    checkAccess(float.class, index);
+    chunk(index).putFloat(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code short} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public short getShort(long index) {
+    checkAccess(short.class, index);
+    return chunk(index).getShort(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code short} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setShort(long index, short value) {
+    checkAccess(short.class, index);
+    chunk(index).putShort(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code char} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public char getChar(long index) {
+    checkAccess(char.class, index);
+    return chunk(index).getChar(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code char} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setChar(long index, char value) {
+    checkAccess(char.class, index);
+    chunk(index).putChar(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code byte} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public byte getByte(long index) {
+    checkAccess(byte.class, index);
+    return chunk(index).get(position(index));
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code byte} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setByte(long index, byte value) {
+    checkAccess(byte.class, index);
+    chunk(index).put(position(index), value);
+  }
+
+  /**
+   * Returns the element at {@code index} of a buffer of {@code boolean} elements.
+   *
+   * @param index Index of the element
+   * @return Element
+   */
+  public boolean getBoolean(long index) {
+    checkAccess(boolean.class, index);
+    return chunk(index).get(position(index)) != 0;
+  }
+
+  /**
+   * Replaces the element at {@code index} of a buffer of {@code boolean} elements.
+   *
+   * @param index Index of the element
+   * @param value New element
+   */
+  public void setBoolean(long index, boolean value) {
+    checkAccess(boolean.class, index);
+    chunk(index).put(position(index), (byte) (value ? 1 : 0));
+  }
+
+  /**
+   * Drops this buffer's references to its memory, so that off-heap or mapped memory can be
+   * returned by the next garbage collection that finds it unreachable. Any later access fails.
+   * Releasing more than once has no further effect.
+   */
+  public void release() {
+    chunks = null;
+  }
+
+  /**
+   * Same as {@link #release()}, so that buffers can be used in try-with-resources statements.
+   */
+  @Override
+  public void close() {
+    release();
+  }
+
+  /**
+   * Copies {@code length} elements of the primitive array {@code array} from {@code offset} on
+   * into this buffer from {@code index} on.
+   */
+  void write(long index, Object array, int offset, int length) {
+    if (length == 0) {
+      return;
+    }
+    checkAccess(array.getClass().getComponentType(), index);
+    if (length > this.length - index) {
+      throw new IndexOutOfBoundsException("Cannot write " + length + " elements at " + index
+          + " of a buffer of " + this.length);
+    }
+    while (length > 0) {
+      ByteBuffer target = chunk(index).duplicate().order(chunk(index).order());
+      target.position(position(index));
+      int count = Math.min(length, target.remaining() >>> byteShift);
+      put(target, array, offset, count);
+      index += count;
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Writes every element to {@code channel} at its current position.
+   *
+   * @param channel Channel to write to
+   * @throws IOException if the channel cannot be written
+   */
+  void writeTo(WritableByteChannel channel) throws IOException {
+    for (ByteBuffer chunk : liveChunks()) {
+      ByteBuffer source = chunk.duplicate();
+      source.clear();
+      while (source.hasRemaining()) {
+        channel.write(source);
+      }
+    }
+  }
+
+  /**
+   * Returns the byte order of the elements.
+   *
+   * @return Byte order
+   */
+  ByteOrder order() {
+    ByteBuffer[] current = chunks;
+    return current == null || current.length == 0 ? ByteOrder.nativeOrder() : current[0].order();
+  }
+
+  /**
+   * Copies {@code length} elements of the primitive array {@code array} from {@code offset} on
+   * into {@code target} from its position on, in the byte order of {@code target}, and advances
+   * the position of {@code target} past them.
+   *
+   * @param target Buffer to fill
+   * @param array Primitive array
+   * @param offset Index of the first element to copy
+   * @param length Number of elements to copy
+   */
+  static void put(ByteBuffer target, Object array, int offset, int length) {
+    int end = target.position() + length * elementBytes(array.getClass().getComponentType());
+    if (array instanceof int[]) {
+      target.asIntBuffer().put((int[]) array, offset, length);
+    } else if (array instanceof long[]) {
+      target.asLongBuffer().put((long[]) array, offset, length);
+    } else if (array instanceof double[]) {
+      target.asDoubleBuffer().put((double[]) array, offset, length);
+    } else if (array instanceof float[]) {
+      target.asFloatBuffer().put((float[]) array, offset, length);
+    } else if (array instanceof short[]) {
+      target.asShortBuffer().put((short[]) array, offset, length);
+    } else if (array instanceof char[]) {
+      target.asCharBuffer().put((char[]) array, offset, length);
+    } else if (array instanceof byte[]) {
+      target.put((byte[]) array, offset, length);
+    } else if (array instanceof boolean[]) {
+      boolean[] values = (boolean[]) array;
+      for (int i = offset; i < offset + length; i++) {
+        target.put((byte) (values[i] ? 1 : 0));
+      }
+    } else {
+      throw new IllegalArgumentException("Not a primitive array: " + array);
+    }
+    target.position(end);
+  }
+
+  /**
+   * Returns the chunks, read once, so that a concurrent {@link #release()} cannot take them away
+   * between the check and the access.
+   */
+  private ByteBuffer[] liveChunks() {
+    ByteBuffer[] current = chunks;
+    if (current == null) {
+      throw new IllegalStateException("Buffer has been released");
+    }
+    return current;
+  }
+
+  private void checkAccess(Class<?> accessed, long index) {
+    if (accessed != type) {
+      throw new IllegalArgumentException("Buffer holds " + type + " elements, not " + accessed);
+    }
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+    }
+  }
+
+  private ByteBuffer chunk(long index) {
+    return liveChunks()[(int) (index >>> elementShift)];
+  }
+
+  private int position(long index) {
+    return (int) (index & ((1L << elementShift) - 1)) << byteShift;
+  }
+}
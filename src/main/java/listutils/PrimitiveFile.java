@@ -0,0 +1,466 @@
+package listutils;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary file of primitive elements, such as the results of flattening or transposing
+ * arrays of primitive arrays.
+ * <p>
+ * A file starts with a {@value #HEADER_BYTES}-byte header, in big-endian order:
+ * </p>
+ * <ul>
+ *   <li>the magic number {@code 0x4C555046} ("LUPF");</li>
+ *   <li>a format version byte, currently 1;</li>
+ *   <li>an element type byte: 0 to 7 for {@code boolean}, {@code byte}, {@code char},
+ *   {@code short}, {@code int}, {@code long}, {@code float} and {@code double};</li>
+ *   <li>a byte order byte: 0 for big-endian, 1 for little-endian;</li>
+ *   <li>a rank byte, from 1 to {@value #MAX_RANK};</li>
+ *   <li>one {@code long} per dimension, outermost first;</li>
+ *   <li>zero padding.</li>
+ * </ul>
+ * <p>
+ * The elements follow row by row in the stated byte order, {@code boolean} elements as one byte
+ * each. As the header is a multiple of 8 bytes, the payload is aligned for every element type.
+ * Files are written in native byte order and read by mapping them, so opening a file copies no
+ * elements.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class PrimitiveFile implements AutoCloseable {
+
+  /** Size of the header, in bytes. */
+  public static final int HEADER_BYTES = 64;
+  /** Greatest number of dimensions. */
+  public static final int MAX_RANK = 6;
+
+  private static final int MAGIC = 0x4C555046;
+  private static final byte VERSION = 1;
+  private static final Class<?>[] TYPES = {boolean.class, byte.class, char.class, short.class,
+      int.class, long.class, float.class, double.class};
+  /** Size of the buffer rows are staged in while writing. */
+  private static final int STAGING_BYTES = 1 << 20;
+
+  private final long[] shape;
+  private final PrimitiveBuffer data;
+
+  private PrimitiveFile(long[] shape, PrimitiveBuffer data) {
+    this.shape = shape;
+    this.data = data;
+  }
+
+  /**
+   * Maps the file at {@code path} for reading.
+   * <p>
+   * No element is copied: {@link #data()} reads the mapped file directly. The mapping is kept
+   * until the buffer returned by {@code data()} is garbage collected, after {@link #close()} is
+   * called or once it is no longer reachable.
+   * </p>
+   *
+   * @param path File to open
+   * @return Opened file
+   * @throws IOException if the file cannot be read or is not in this format
+   */
+  public static PrimitiveFile open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException(path + " is too short to be a primitive file");
+        }
+      }
+      header.flip();
+      if (header.getInt() != MAGIC) {
+        throw new IOException(path + " is not a primitive file");
+      }
+      byte version = header.get();
+      if (version != VERSION) {
+        throw new IOException(path + " has unsupported version " + version);
+      }
+      int typeCode = header.get();
+      int orderCode = header.get();
+      int rank = header.get();
+      if (typeCode < 0 || typeCode >= TYPES.length || orderCode < 0 || orderCode > 1 || rank < 1
+          || rank > MAX_RANK) {
+        throw new IOException(path + " has a malformed header");
+      }
+      long[] shape = new long[rank];
+      for (int i = 0; i < rank; i++) {
+        shape[i] = header.getLong();
+      }
+      Class<?> type = TYPES[typeCode];
+      long length;
+      long bytes;
+      try {
+        length = length(shape);
+        bytes = Math.multiplyExact(length, (long) PrimitiveBuffer.elementBytes(type));
+      } catch (IllegalArgumentException | ArithmeticException e) {
+        throw new IOException(path + " has a malformed header", e);
+      }
+      if (channel.size() - HEADER_BYTES < bytes) {
+        throw new IOException(path + " is shorter than its header states");
+      }
+      ByteOrder order = orderCode == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      return new PrimitiveFile(shape, PrimitiveBuffer.map(channel, HEADER_BYTES, type, length,
+          order));
+    }
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, int[] array) throws IOException {
+    writeArrays(path, int.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, int[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, char[] array) throws IOException {
+    writeArrays(path, char.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, char[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, double[] array) throws IOException {
+    writeArrays(path, double.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, double[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, boolean[] array) throws IOException {
+    writeArrays(path, boolean.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, boolean[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, short[] array) throws IOException {
+    writeArrays(path, short.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, short[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, long[] array) throws IOException {
+    writeArrays(path, long.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, long[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, float[] array) throws IOException {
+    writeArrays(path, float.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, float[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes {@code array} to {@code path} as a one-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param array Elements to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, byte[] array) throws IOException {
+    writeArrays(path, byte.class, new long[] {array.length}, new Object[] {array});
+  }
+
+  /**
+   * Writes the rectangular matrix {@code matrix} to {@code path} as a two-dimensional file.
+   *
+   * @param path File to write, replaced if it exists
+   * @param matrix Rows of equal length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows differ in length
+   */
+  public static void write(Path path, byte[][] matrix) throws IOException {
+    writeRows(path, matrix);
+  }
+
+  /**
+   * Writes a List of primitive arrays of the same type and length to {@code path} as a
+   * two-dimensional file, one array per row. This accepts the Lists returned by
+   * {@code flatten} and {@code transpose} for arrays of primitive arrays.
+   *
+   * @param path File to write, replaced if it exists
+   * @param rows Primitive arrays of the same type and length
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the rows are not primitive arrays of one type and length
+   */
+  public static void write(Path path, List<?> rows) throws IOException {
+    if (rows.isEmpty()) {
+      throw new IllegalArgumentException("Cannot tell the element type of an empty List");
+    }
+    Object first = rows.get(0);
+    if (!FlattenEngine.isPrimitiveArray(first)) {
+      throw new IllegalArgumentException("Not a primitive array: " + first);
+    }
+    Object[] array = (Object[]) Array.newInstance(first.getClass(), rows.size());
+    int i = 0;
+    for (Object row : rows) {
+      if (row == null || row.getClass() != first.getClass()) {
+        throw new IllegalArgumentException("Row " + i + " is not a " + first.getClass()
+            .getSimpleName());
+      }
+      array[i++] = row;
+    }
+    writeRows(path, array);
+  }
+
+  /**
+   * Writes the elements of {@code buffer} to {@code path} with the given shape.
+   *
+   * @param path File to write, replaced if it exists
+   * @param buffer Elements to write
+   * @param shape Size of each dimension, outermost first, whose product is the buffer length
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path path, PrimitiveBuffer buffer, long... shape) throws IOException {
+    if (length(shape) != buffer.length()) {
+      throw new IllegalArgumentException("Shape " + Arrays.toString(shape) + " does not hold "
+          + buffer.length() + " elements");
+    }
+    try (FileChannel channel = create(path, buffer.type(), buffer.order(), shape)) {
+      buffer.writeTo(channel);
+    }
+  }
+
+  private static void writeRows(Path path, Object[] rows) throws IOException {
+    int columns = rows.length == 0 ? 0 : Array.getLength(rows[0]);
+    for (int i = 0; i < rows.length; i++) {
+      if (Array.getLength(rows[i]) != columns) {
+        throw new IllegalArgumentException("Row " + i + " has " + Array.getLength(rows[i])
+            + " elements, but row 0 has " + columns);
+      }
+    }
+    Class<?> type = rows.getClass().getComponentType().getComponentType();
+    writeArrays(path, type, new long[] {rows.length, columns}, rows);
+  }
+
+  private static void writeArrays(Path path, Class<?> type, long[] shape, Object[] arrays)
+      throws IOException {
+    int elementBytes = PrimitiveBuffer.elementBytes(type);
+    ByteBuffer staging = ByteBuffer.allocateDirect(STAGING_BYTES).order(ByteOrder.nativeOrder());
+    try (FileChannel channel = create(path, type, ByteOrder.nativeOrder(), shape)) {
+      for (Object array : arrays) {
+        int length = Array.getLength(array);
+        int offset = 0;
+        while (offset < length) {
+          int count = Math.min(length - offset, staging.remaining() / elementBytes);
+          if (count == 0) {
+            drain(staging, channel);
+            continue;
+          }
+          PrimitiveBuffer.put(staging, array, offset, count);
+          offset += count;
+        }
+      }
+      drain(staging, channel);
+    }
+  }
+
+  private static void drain(ByteBuffer staging, FileChannel channel) throws IOException {
+    staging.flip();
+    while (staging.hasRemaining()) {
+      channel.write(staging);
+    }
+    staging.clear();
+  }
+
+  private static FileChannel create(Path path, Class<?> type, ByteOrder order, long[] shape)
+      throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC);
+    header.put(VERSION);
+    header.put((byte) Arrays.asList(TYPES).indexOf(type));
+    header.put((byte) (order == ByteOrder.BIG_ENDIAN ? 0 : 1));
+    header.put((byte) shape.length);
+    for (long dimension : shape) {
+      header.putLong(dimension);
+    }
+    header.clear();
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    return channel;
+  }
+
+  private static long length(long[] shape) {
+    if (shape.length < 1 || shape.length > MAX_RANK) {
+      throw new IllegalArgumentException("Rank must be from 1 to " + MAX_RANK + ": "
+          + shape.length);
+    }
+    long length = 1;
+    for (long dimension : shape) {
+      if (dimension < 0) {
+        throw new IllegalArgumentException("Negative dimension: " + dimension);
+      }
+      length = Math.multiplyExact(length, dimension);
+    }
+    return length;
+  }
+
+  /**
+   * Returns the primitive type of the elements.
+   *
+   * @return Element type
+   */
+  public Class<?> type() {
+    return data.type();
+  }
+
+  /**
+   * Returns the size of each dimension, outermost first.
+   *
+   * @return Shape of the data
+   */
+  public long[] shape() {
+    return shape.clone();
+  }
+
+  /**
+   * Returns the elements, read in place from the mapped file. The buffer is read-only.
+   *
+   * @return Mapped elements
+   */
+  public PrimitiveBuffer data() {
+    return data;
+  }
+
+  /**
+   * Releases the buffer returned by {@link #data()}, which may no longer be used. The file is
+   * unmapped once it is garbage collected.
+   */
+  @Override
+  public void close() {
+    data.release();
+  }
+}
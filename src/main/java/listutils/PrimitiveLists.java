@@ -0,0 +1,57 @@
+package listutils;
+
+/**
+ * Growth and bounds checks shared by the growable primitive lists, such as {@link IntList}.
+ */
+final class PrimitiveLists {
+
+  /** Largest capacity requested, as some JVMs reserve header words in arrays. */
+  static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private PrimitiveLists(){}
+
+  /**
+   * Returns the capacity to grow an array of {@code length} elements to so that it holds at least
+   * {@code required}: half as large again, and at least 10, unless more is required.
+   *
+   * @param length Current capacity
+   * @param required Capacity needed
+   * @return New capacity
+   * @throws OutOfMemoryError if {@code required} is negative, from an overflowed sum, or exceeds
+   *     {@link #MAX_CAPACITY}
+   */
+  static int grownCapacity(int length, int required) {
+    if (required < 0 || required > MAX_CAPACITY) {
+      throw new OutOfMemoryError("Required capacity " + required + " is too large");
+    }
+    long grown = Math.max(10, length + (long) (length >> 1));
+    return (int) Math.min(MAX_CAPACITY, Math.max(grown, required));
+  }
+
+  /**
+   * Checks that {@code index} is at least 0 and less than {@code bound}.
+   *
+   * @param index Index to check
+   * @param bound Exclusive upper bound
+   */
+  static void checkIndex(int index, int bound) {
+    if (index < 0 || index >= bound) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+    }
+  }
+
+  /**
+   * Checks that {@code length} elements from {@code offset} on lie within an array of
+   * {@code arrayLength} elements.
+   *
+   * @param offset Index of the first element
+   * @param length Number of elements
+   * @param arrayLength Length of the array
+   */
+  static void checkRange(int offset, int length, int arrayLength) {
+    if (offset < 0 || length < 0 || length > arrayLength - offset) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length
+          + ", Array length: " + arrayLength);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package listutils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Helpers for transposing ragged input, whose rows differ in length.
+ * <p>
+ * Column <i>j</i> of a ragged array holds one element from each row longer than <i>j</i>. The
+ * length of every column follows from a histogram of row lengths, so the columns can be
+ * allocated at their exact size before a single pass over the elements fills them.
+ * </p>
+ */
+final class RaggedTranspose {
+
+  private RaggedTranspose(){}
+
+  /**
+   * Returns the number of elements in each column of {@code matrix}: element <i>j</i> counts the
+   * rows longer than <i>j</i>. The result has as many elements as the longest row.
+   * <p>
+   * This takes time proportional to the number of rows plus the length of the longest row.
+   * </p>
+   *
+   * @param matrix Array of primitive arrays
+   * @return Column lengths
+   */
+  static int[] columnLengths(Object[] matrix) {
+    int columns = columns(matrix);
+    // Count the rows of each length, then sum from the longest down
+    int[] lengths = new int[columns + 1];
+    for (Object row : matrix) {
+      lengths[Array.getLength(row)]++;
+    }
+    for (int j = columns - 1; j >= 0; j--) {
+      lengths[j] += lengths[j + 1];
+    }
+    int[] columnLengths = new int[columns];
+    System.arraycopy(lengths, 1, columnLengths, 0, columns);
+    return columnLengths;
+  }
+
+  /**
+   * Returns the length of the longest row of {@code matrix}.
+   *
+   * @param matrix Array of primitive arrays
+   * @return Greatest row length
+   */
+  static int columns(Object[] matrix) {
+    int columns = 0;
+    for (Object row : matrix) {
+      columns = Math.max(columns, Array.getLength(row));
+    }
+    return columns;
+  }
+
+  /**
+   * Transposes rows that are Lists or arrays of objects, with the semantics of
+   * {@link ListUtility#transpose(List)}: column <i>j</i> ends at the first row with no element
+   * <i>j</i>.
+   * <p>
+   * A row is read only in the columns before the first of it and the rows above it to run out, so
+   * each row is read from its start without gaps. Rows that are Lists without random access are
+   * therefore read with one iterator each, advanced in lock-step, instead of by index.
+   * </p>
+   *
+   * @param rows Lists or arrays of objects, at least one
+   * @return Transposed list
+   */
+  static List<List<Object>> transposeRows(Object[] rows) {
+    Instrumentation.Probe probe = Instrumentation.begin();
+    int count = rows.length;
+    int[] lengths = new int[count];
+    Iterator<?>[] cursors = new Iterator<?>[count];
+    for (int i = 0; i < count; i++) {
+      if (rows[i] instanceof List<?>) {
+        List<?> row = (List<?>) rows[i];
+        lengths[i] = row.size();
+        if (!(row instanceof RandomAccess)) {
+          cursors[i] = row.iterator();
+        }
+      } else {
+        lengths[i] = ((Object[]) rows[i]).length;
+      }
+    }
+    int columns = lengths[0];
+    List<List<Object>> transposed = new ArrayList<>();
+    next:
+    for (int j = 0; j < columns; j++) {
+      List<Object> column = new ArrayList<>(count);
+      transposed.add(column);
+      for (int i = 0; i < count; i++) {
+        if (lengths[i] > columns) {
+          columns = lengths[i];
+        }
+        if (lengths[i] <= j) {
+          continue next;
+        }
+        if (cursors[i] != null) {
+          column.add(cursors[i].next());
+        } else if (rows[i] instanceof List<?>) {
+          column.add(((List<?>) rows[i]).get(j));
+        } else {
+          column.add(((Object[]) rows[i])[j]);
+        }
+      }
+    }
+    if (probe != null) {
+      long copied = 0;
+      for (List<Object> column : transposed) {
+        copied += column.size();
+      }
+      probe.end(Instrumentation.Operation.TRANSPOSE, copied, 2);
+    }
+    return transposed;
+  }
+}
@@ -0,0 +1,313 @@
+package listutils;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix of {@code double} values in compressed sparse row (CSR) layout.
+ * <p>
+ * Only the elements that differ from the matrix's fill value are stored. The stored elements of
+ * row <i>i</i> are {@code values[rowPointers[i]]} up to, but not including,
+ * {@code values[rowPointers[i + 1]]}, in increasing column order, with their columns in the same
+ * positions of {@code columnIndices}. Every other element reads as the fill value.
+ * </p>
+ * <p>
+ * The transposition of a CSR matrix is the same matrix in compressed sparse column (CSC) layout,
+ * so {@link #transpose()} builds it with a counting sort over the stored elements. Its cost grows
+ * with the number of stored elements plus the rows and columns, not with the full
+ * <i>rows</i>-by-<i>columns</i> grid, which makes it suited to matrices that are mostly empty.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class SparseDoubleMatrix {
+
+  private final int rows;
+  private final int columns;
+  private final double fill;
+  private final int[] rowPointers;
+  private final int[] columnIndices;
+  private final double[] values;
+
+  private SparseDoubleMatrix(int rows, int columns, double fill, int[] rowPointers,
+      int[] columnIndices, double[] values) {
+    this.rows = rows;
+    this.columns = columns;
+    this.fill = fill;
+    this.rowPointers = rowPointers;
+    this.columnIndices = columnIndices;
+    this.values = values;
+  }
+
+  /**
+   * Returns a new sparse matrix holding the elements of {@code original} that differ from
+   * {@code fill}, one array per row.
+   * <p>
+   * The rows may differ in length: the matrix has as many columns as the longest row, and the
+   * elements missing from shorter rows read as {@code fill}. Elements are compared with
+   * {@code fill} as by {@link Double#equals(Object)}, so a {@code NaN} fill leaves out
+   * {@code NaN} elements.
+   * </p>
+   *
+   * @param original Input array, whose rows may differ in length
+   * @param fill Value of the elements not stored
+   * @return New matrix
+   */
+  public static SparseDoubleMatrix of(double[][] original, double fill) {
+    long fillBits = Double.doubleToLongBits(fill);
+    int rows = original.length;
+    int columns = 0;
+    int[] rowPointers = new int[rows + 1];
+    for (int i = 0; i < rows; i++) {
+      double[] row = original[i];
+      columns = Math.max(columns, row.length);
+      int count = 0;
+      for (double value : row) {
+        if (Double.doubleToLongBits(value) != fillBits) {
+          count++;
+        }
+      }
+      rowPointers[i + 1] = Math.addExact(rowPointers[i], count);
+    }
+    int[] columnIndices = new int[rowPointers[rows]];
+    double[] values = new double[rowPointers[rows]];
+    int k = 0;
+    for (double[] row : original) {
+      for (int j = 0; j < row.length; j++) {
+        if (Double.doubleToLongBits(row[j]) != fillBits) {
+          columnIndices[k] = j;
+          values[k++] = row[j];
+        }
+      }
+    }
+    return new SparseDoubleMatrix(rows, columns, fill, rowPointers, columnIndices, values);
+  }
+
+  /**
+   * Returns a sparse matrix backed by the given CSR arrays, without copying them.
+   *
+   * @param rows Number of rows
+   * @param columns Number of columns
+   * @param fill Value of the elements not stored
+   * @param rowPointers Start of each row in {@code columnIndices} and {@code values}, followed
+   *     by the number of stored elements
+   * @param columnIndices Column of each stored element, increasing within each row
+   * @param values Stored elements
+   * @return New matrix
+   * @throws IllegalArgumentException if the arrays do not describe a {@code rows}-by-
+   *     {@code columns} CSR matrix
+   */
+  public static SparseDoubleMatrix wrap(int rows, int columns, double fill, int[] rowPointers,
+      int[] columnIndices, double[] values) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Negative dimension: " + rows + " by " + columns);
+    }
+    if (rowPointers.length != rows + 1 || rowPointers[0] != 0
+        || rowPointers[rows] != columnIndices.length || values.length != columnIndices.length) {
+      throw new IllegalArgumentException("Row pointers do not match " + rows + " rows of "
+          + values.length + " stored elements");
+    }
+    for (int i = 0; i < rows; i++) {
+      if (rowPointers[i] > rowPointers[i + 1]) {
+        throw new IllegalArgumentException("Row pointers decrease at row " + i);
+      }
+      for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+        int j = columnIndices[k];
+        if (j < 0 || j >= columns || (k > rowPointers[i] && j <= columnIndices[k - 1])) {
+          throw new IllegalArgumentException("Column " + j + " is out of order or bounds in row "
+              + i);
+        }
+      }
+    }
+    return new SparseDoubleMatrix(rows, columns, fill, rowPointers, columnIndices, values);
+  }
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return Number of rows
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns.
+   *
+   * @return Number of columns
+   */
+  public int columns() {
+    return columns;
+  }
+
+  /**
+   * Returns the value of the elements not stored.
+   *
+   * @return Fill value
+   */
+  public double fill() {
+    return fill;
+  }
+
+  /**
+   * Returns the number of stored elements.
+   *
+   * @return Number of stored elements
+   */
+  public int stored() {
+    return values.length;
+  }
+
+  /**
+   * Returns the element at row {@code i}, column {@code j}, found by binary search within the
+   * row.
+   *
+   * @param i Row index
+   * @param j Column index
+   * @return Element
+   */
+  public double get(int i, int j) {
+    if (i < 0 || i >= rows || j < 0 || j >= columns) {
+      throw new IndexOutOfBoundsException("Index: (" + i + ", " + j + "), Size: " + rows + " by "
+          + columns);
+    }
+    int k = Arrays.binarySearch(columnIndices, rowPointers[i], rowPointers[i + 1], j);
+    return k >= 0 ? values[k] : fill;
+  }
+
+  /**
+   * Returns the transposition of this matrix as a new sparse matrix with the same fill value.
+   * <p>
+   * The stored elements are counted per column, and each is then placed at its column's next
+   * free position. Rows are visited in order, so every row of the result stays sorted by column.
+   * This takes time proportional to the number of stored elements plus the rows and columns.
+   * </p>
+   *
+   * @return Transposed matrix
+   */
+  public SparseDoubleMatrix transpose() {
+    int[] pointers = new int[columns + 1];
+    for (int j : columnIndices) {
+      pointers[j + 1]++;
+    }
+    for (int j = 0; j < columns; j++) {
+      pointers[j + 1] += pointers[j];
+    }
+    int[] next = Arrays.copyOf(pointers, columns);
+    int[] indices = new int[values.length];
+    double[] transposed = new double[values.length];
+    for (int i = 0; i < rows; i++) {
+      for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+        int position = next[columnIndices[k]]++;
+        indices[position] = i;
+        transposed[position] = values[k];
+      }
+    }
+    return new SparseDoubleMatrix(columns, rows, fill, pointers, indices, transposed);
+  }
+
+  /**
+   * Returns the columns of the stored elements of row {@code i}, in increasing order.
+   *
+   * @param i Row index
+   * @return Column indices
+   */
+  public int[] rowColumns(int i) {
+    checkRow(i);
+    return Arrays.copyOfRange(columnIndices, rowPointers[i], rowPointers[i + 1]);
+  }
+
+  /**
+   * Returns the stored elements of row {@code i}, in the order of {@link #rowColumns(int)}.
+   *
+   * @param i Row index
+   * @return Stored elements
+   */
+  public double[] rowValues(int i) {
+    checkRow(i);
+    return Arrays.copyOfRange(values, rowPointers[i], rowPointers[i + 1]);
+  }
+
+  /**
+   * Returns a copy of row {@code i}, with the fill value in place of the elements not stored.
+   *
+   * @param i Row index
+   * @return Row elements
+   */
+  public double[] row(int i) {
+    checkRow(i);
+    double[] row = new double[columns];
+    if (Double.doubleToRawLongBits(fill) != 0) {
+      Arrays.fill(row, fill);
+    }
+    for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+      row[columnIndices[k]] = values[k];
+    }
+    return row;
+  }
+
+  private void checkRow(int i) {
+    if (i < 0 || i >= rows) {
+      throw new IndexOutOfBoundsException("Row: " + i + ", Rows: " + rows);
+    }
+  }
+
+  /**
+   * Returns a copy of the row pointers: the start of each row in {@link #columnIndices()} and
+   * {@link #values()}, followed by the number of stored elements.
+   *
+   * @return Row pointers
+   */
+  public int[] rowPointers() {
+    return rowPointers.clone();
+  }
+
+  /**
+   * Returns a copy of the column of each stored element.
+   *
+   * @return Column indices
+   */
+  public int[] columnIndices() {
+    return columnIndices.clone();
+  }
+
+  /**
+   * Returns a copy of the stored elements, row by row.
+   *
+   * @return Stored elements
+   */
+  public double[] values() {
+    return values.clone();
+  }
+
+  /**
+   * Returns a new array of the rows of this matrix, with the fill value in place of the elements
+   * not stored.
+   *
+   * @return Array of rows
+   */
+  public double[][] toArray() {
+    double[][] array = new double[rows][];
+    for (int i = 0; i < rows; i++) {
+      array[i] = row(i);
+    }
+    return array;
+  }
+
+  /**
+   * Returns a new dense matrix of the same elements.
+   *
+   * @return Dense copy
+   */
+  public DoubleMatrix toDense() {
+    double[] data = new double[Math.multiplyExact(rows, columns)];
+    if (Double.doubleToRawLongBits(fill) != 0) {
+      Arrays.fill(data, fill);
+    }
+    for (int i = 0; i < rows; i++) {
+      for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+        data[i * columns + columnIndices[k]] = values[k];
+      }
+    }
+    return DoubleMatrix.wrap(data, rows, columns);
+  }
+}
@@ -0,0 +1,21 @@
+package listutils;
+
+/**
+ * Where a {@link PrimitiveBuffer} keeps its elements.
+ *
+ * @since 1.5.0
+ */
+public enum Storage {
+
+  /**
+   * Elements are kept in heap {@code ByteBuffer}s, managed by the garbage collector.
+   */
+  HEAP,
+
+  /**
+   * Elements are kept in direct {@code ByteBuffer}s, outside the garbage-collected heap. Their
+   * memory is returned once the buffers are garbage collected, which
+   * {@link PrimitiveBuffer#release()} allows before the {@code PrimitiveBuffer} itself is.
+   */
+  OFF_HEAP
+}
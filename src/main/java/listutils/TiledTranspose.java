@@ -0,0 +1,303 @@
+package listutils;
+
+import java.lang.reflect.Array;
+
+/**
+ * Cache-blocked transposition kernels for rectangular primitive matrices.
+ * <p>
+ * A naive transposition reads the source row by row but writes the destination column by column,
+ * so once a matrix outgrows the cache nearly every write misses. These kernels instead work on
+ * square tiles small enough that a source tile and its destination tile stay in cache together.
+ * </p>
+ */
+final class TiledTranspose {
+
+  /**
+   * Number of bytes a source tile and its destination tile may occupy together.
+   */
+  private static final int TILE_BYTES = 16 * 1024;
+
+  private TiledTranspose(){}
+
+  /**
+   * Returns the tile side length suited to elements of {@code elementBytes} bytes: the largest
+   * power of two for which a source and destination tile fit in {@link #TILE_BYTES}.
+   *
+   * @param elementBytes Size of one element in bytes
+   * @return Tile side length
+   */
+  static int tileSize(int elementBytes) {
+    int tile = 8;
+    while (2 * (tile * 2) * (tile * 2) * elementBytes <= TILE_BYTES) {
+      tile *= 2;
+    }
+    return tile;
+  }
+
+  /**
+   * Ensures {@code tileSize} is positive.
+   *
+   * @param tileSize Tile side length
+   */
+  static void checkTileSize(int tileSize) {
+    if (tileSize < 1) {
+      throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+    }
+  }
+
+  /**
+   * Returns whether every row of {@code matrix} has the same length.
+   *
+   * @param matrix Array of primitive arrays
+   * @return Whether the matrix is rectangular
+   */
+  static boolean isRectangular(Object[] matrix) {
+    int columns = Array.getLength(matrix[0]);
+    for (Object row : matrix) {
+      if (Array.getLength(row) != columns) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}, for an array of primitive arrays of any type.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix of the same type as {@code src}
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(Object[] src, Object[] dest, int from, int to, int tile) {
+    if (src instanceof int[][]) {
+      transpose((int[][]) src, (int[][]) dest, from, to, tile);
+    } else if (src instanceof char[][]) {
+      transpose((char[][]) src, (char[][]) dest, from, to, tile);
+    } else if (src instanceof double[][]) {
+      transpose((double[][]) src, (double[][]) dest, from, to, tile);
+    } else if (src instanceof boolean[][]) {
+      transpose((boolean[][]) src, (boolean[][]) dest, from, to, tile);
+    } else if (src instanceof short[][]) {
+      transpose((short[][]) src, (short[][]) dest, from, to, tile);
+    } else if (src instanceof long[][]) {
+      transpose((long[][]) src, (long[][]) dest, from, to, tile);
+    } else if (src instanceof float[][]) {
+      transpose((float[][]) src, (float[][]) dest, from, to, tile);
+    } else if (src instanceof byte[][]) {
+      transpose((byte[][]) src, (byte[][]) dest, from, to, tile);
+    } else {
+      throw new IllegalArgumentException("Not an array of primitive arrays: " + src);
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(int[][] src, int[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          int[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(char[][] src, char[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          char[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(double[][] src, double[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          double[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(boolean[][] src, boolean[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          boolean[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(short[][] src, short[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          short[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(long[][] src, long[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          long[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(float[][] src, float[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          float[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes columns {@code [from, to)} of the rectangular matrix {@code src} as rows of
+   * {@code dest}.
+   *
+   * @param src Source matrix
+   * @param dest Destination matrix, at least {@code to} rows of {@code src.length} elements
+   * @param from First column to transpose
+   * @param to Column after the last to transpose
+   * @param tile Tile side length
+   */
+  static void transpose(byte[][] src, byte[][] dest, int from, int to, int tile) {
+    int rows = src.length;
+    for (int rowTile = 0; rowTile < rows; rowTile += tile) {
+      int rowEnd = Math.min(rowTile + tile, rows);
+      for (int columnTile = from; columnTile < to; columnTile += tile) {
+        int columnEnd = Math.min(columnTile + tile, to);
+        for (int i = rowTile; i < rowEnd; i++) {
+          byte[] row = src[i];
+          for (int j = columnTile; j < columnEnd; j++) {
+            dest[j][i] = row[j];
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package listutils;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * {@link EventRecorder} emitting {@link OperationEvent}s, loaded by {@link Instrumentation} where
+ * the Flight Recorder is available.
+ * <p>
+ * Creating it registers a listener that tells {@link Instrumentation} whether a recording is
+ * running, so that calls are probed only while one is.
+ * </p>
+ */
+final class JfrEventRecorder implements EventRecorder {
+
+  JfrEventRecorder() {
+    if (!FlightRecorder.isAvailable()) {
+      throw new IllegalStateException("Flight Recorder is not available");
+    }
+    FlightRecorder.addListener(new FlightRecorderListener() {
+      @Override
+      public void recordingStateChanged(Recording changed) {
+        Instrumentation.recording(isRecording());
+      }
+    });
+    if (FlightRecorder.isInitialized()) {
+      Instrumentation.recording(isRecording());
+    }
+  }
+
+  private static boolean isRecording() {
+    for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+      if (recording.getState() == RecordingState.RUNNING) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Object begin() {
+    OperationEvent event = new OperationEvent();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void end(Object started, Instrumentation.Operation operation, long elements,
+      long allocated, int depth) {
+    OperationEvent event = (OperationEvent) started;
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = operation.name();
+      event.elements = elements;
+      event.allocated = allocated;
+      event.depth = depth;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package listutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one flatten, transpose or ensureSize call, emitted through
+ * {@link JfrEventRecorder}.
+ */
+@Name("listutils.Operation")
+@Label("ListUtils Operation")
+@Category("ListUtils")
+@Description("A flatten, transpose or ensureSize call")
+@Threshold("1 ms")
+@StackTrace(true)
+final class OperationEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Elements")
+  @Description("Elements copied into the result or added to the List")
+  long elements;
+
+  @Label("Allocated")
+  @Description("Bytes allocated by the calling thread, or -1 if unknown")
+  @DataAmount
+  long allocated;
+
+  @Label("Depth")
+  @Description("Deepest nesting level reached")
+  int depth;
+}
@@ -0,0 +1,65 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BitMatrixTest {
+
+  private static boolean[][] random(int rows, int columns, long seed) {
+    Random random = new Random(seed);
+    boolean[][] bits = new boolean[rows][columns];
+    for (boolean[] row : bits) {
+      for (int j = 0; j < columns; j++) {
+        row[j] = random.nextBoolean();
+      }
+    }
+    return bits;
+  }
+
+  @Test
+  void transposeMatchesNaiveAcrossBlockEdges() {
+    for (int[] size : new int[][] {{1, 1}, {63, 65}, {64, 64}, {130, 7}, {5, 200}}) {
+      boolean[][] bits = random(size[0], size[1], size[0] * 31 + size[1]);
+      boolean[][] expected = new boolean[size[1]][size[0]];
+      for (int i = 0; i < size[0]; i++) {
+        for (int j = 0; j < size[1]; j++) {
+          expected[j][i] = bits[i][j];
+        }
+      }
+      assertArrayEquals(expected, BitMatrix.of(bits).transpose().toArray(),
+          Arrays.toString(size));
+    }
+  }
+
+  @Test
+  void toBitSetMatchesFlattenToBitSet() {
+    boolean[][] bits = random(9, 70, 1);
+    BitMatrix matrix = BitMatrix.of(bits);
+    assertEquals(ListUtility.flattenToBitSet(bits), matrix.toBitSet());
+    assertEquals(ListUtility.transposeToBitMatrix(bits).toBitSet(), matrix.transpose().toBitSet());
+    long count = 0;
+    for (boolean[] row : bits) {
+      for (boolean bit : row) {
+        count += bit ? 1 : 0;
+      }
+    }
+    assertEquals(count, matrix.cardinality());
+  }
+
+  @Test
+  void ofBitSetsIgnoresBitsPastTheColumns() {
+    BitSet row = new BitSet();
+    row.set(1);
+    row.set(5);
+    BitMatrix matrix = BitMatrix.of(Arrays.asList(row, new BitSet()), 3);
+    assertEquals(1, matrix.cardinality());
+    assertEquals(BitSet.valueOf(new long[] {0b10}), matrix.row(0));
+    matrix.set(1, 2, true);
+    assertEquals(BitSet.valueOf(new long[] {0b100010}), matrix.toBitSet());
+  }
+}
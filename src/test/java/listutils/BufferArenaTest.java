@@ -0,0 +1,84 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BufferArenaTest {
+
+  @Test
+  void reusesReleasedArraysOfTheSameTypeAndLength() {
+    BufferArena arena = new BufferArena();
+    double[] first = arena.doubleArray(1000);
+    arena.release(first);
+    assertEquals(8000, arena.retainedBytes());
+    assertSame(first, arena.doubleArray(1000));
+    assertNotSame(first, arena.doubleArray(1000));
+    arena.release(new long[1000]);
+    assertEquals(1000, arena.intArray(1000).length);
+    assertEquals(1, arena.hits());
+    assertEquals(3, arena.misses());
+    assertEquals(8000, arena.retainedBytes());
+  }
+
+  @Test
+  void keepsNoMoreThanTheByteLimit() {
+    BufferArena arena = new BufferArena(100);
+    arena.release(new byte[60]);
+    arena.release(new byte[60]);
+    assertEquals(60, arena.retainedBytes());
+    arena.clear();
+    assertEquals(0, arena.retainedBytes());
+    assertThrows(IllegalArgumentException.class, () -> arena.release(new Object[1]));
+  }
+
+  @Test
+  void manyDistinctLengthsStayUsable() {
+    BufferArena arena = new BufferArena(Long.MAX_VALUE);
+    for (int length = 0; length < 2000; length++) {
+      arena.release(arena.intArray(length));
+    }
+    for (int length = 0; length < 2000; length += 7) {
+      assertEquals(length, arena.intArray(length).length);
+    }
+    assertEquals(2000 / 7 + 1, arena.hits());
+  }
+
+  @Test
+  void arenaResultsCanBeHandedBack() {
+    BufferArena arena = new BufferArena();
+    int[][] rows = {{1, 2, 3}, {4, 5, 6}};
+    List<int[]> columns = ListUtility.transpose(rows, arena);
+    assertEquals(3, columns.size());
+    arena.releaseAll(columns);
+    List<int[]> again = ListUtility.transpose(rows, arena);
+    assertTrue(arena.hits() >= 3);
+    assertEquals(5, again.get(1)[1]);
+  }
+
+  @Test
+  void reuseOfLongLengthsAllocatesNothing() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported()
+        && threads.isThreadAllocatedMemoryEnabled());
+    BufferArena arena = new BufferArena();
+    arena.release(arena.doubleArray(4096));
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < 100_000; i++) {
+      arena.release(arena.doubleArray(4096));
+    }
+    long allocated = threads.getThreadAllocatedBytes(id) - before;
+    // A boxed key per call would take well over a megabyte
+    assertTrue(allocated < 100_000, allocated + " bytes allocated");
+  }
+}
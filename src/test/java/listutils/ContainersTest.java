@@ -0,0 +1,42 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class ContainersTest {
+
+  @Test
+  void registeredTypesAndSubtypesAreExpanded() {
+    List<Object> nested = Arrays.asList(new TreeSet<>(Arrays.asList(2, 1)), Optional.of(3),
+        Optional.empty());
+    Containers.register(Collection.class, Collection::iterator);
+    Containers.register(Optional.class, o -> o.isPresent()
+        ? Collections.singleton(o.get()).iterator() : Collections.emptyIterator());
+    try {
+      assertEquals(Arrays.asList(1, 2, 3), ListUtility.flatten(nested));
+    } finally {
+      assertTrue(Containers.unregister(Collection.class));
+      assertTrue(Containers.unregister(Optional.class));
+    }
+    assertFalse(Containers.unregister(Optional.class));
+    assertEquals(nested, ListUtility.flatten(nested));
+  }
+
+  @Test
+  void primitiveTypesCannotBeRegistered() {
+    assertThrows(IllegalArgumentException.class,
+        () -> Containers.register(int[].class, a -> Collections.emptyIterator()));
+    assertThrows(IllegalArgumentException.class,
+        () -> Containers.register(int.class, a -> Collections.emptyIterator()));
+  }
+}
@@ -0,0 +1,59 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleMatrixTest {
+
+  @Test
+  void transposeIsAViewWithSwappedStrides() {
+    DoubleMatrix matrix = DoubleMatrix.of(new double[][] {{1, 2, 3}, {4, 5, 6}});
+    DoubleMatrix transposed = matrix.transpose();
+    assertEquals(3, transposed.rows());
+    assertEquals(2, transposed.columns());
+    assertEquals(6, transposed.get(2, 1));
+    transposed.set(0, 1, 40);
+    assertEquals(40, matrix.get(1, 0));
+    assertFalse(transposed.isCompact());
+  }
+
+  @Test
+  void materializeCopiesRowMajor() {
+    double[][] rows = new double[70][45];
+    for (int i = 0; i < rows.length; i++) {
+      for (int j = 0; j < rows[i].length; j++) {
+        rows[i][j] = i * 1000 + j;
+      }
+    }
+    DoubleMatrix copy = DoubleMatrix.of(rows).transpose().materialize();
+    assertTrue(copy.isCompact());
+    double[][] expected = new double[45][70];
+    for (int i = 0; i < 70; i++) {
+      for (int j = 0; j < 45; j++) {
+        expected[j][i] = rows[i][j];
+      }
+    }
+    assertArrayEquals(expected, copy.toArray());
+  }
+
+  @Test
+  void wrapSharesTheArray() {
+    double[] data = {1, 2, 3, 4};
+    DoubleMatrix matrix = DoubleMatrix.wrap(data, 2, 2);
+    assertEquals(3, matrix.get(1, 0));
+    assertSame(data, matrix.toFlatArray());
+    assertArrayEquals(new double[] {2, 4}, matrix.column(1));
+  }
+
+  @Test
+  void ofRejectsRaggedRows() {
+    assertThrows(IllegalArgumentException.class,
+        () -> DoubleMatrix.of(new double[][] {{1, 2}, {3}}));
+  }
+}
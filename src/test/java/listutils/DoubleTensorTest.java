@@ -0,0 +1,52 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DoubleTensorTest {
+
+  private static double[] range(int size) {
+    double[] data = new double[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = i;
+    }
+    return data;
+  }
+
+  @Test
+  void wrapInfersOneDimension() {
+    DoubleTensor tensor = DoubleTensor.wrap(range(24), 2, -1, 4);
+    assertArrayEquals(new int[] {2, 3, 4}, tensor.shape());
+    assertEquals(3, tensor.rank());
+    assertEquals(24, tensor.size());
+    assertEquals(1 * 12 + 2 * 4 + 3, tensor.get(1, 2, 3));
+    assertThrows(IllegalArgumentException.class, () -> DoubleTensor.wrap(range(10), 3, -1));
+  }
+
+  @Test
+  void sliceAndReshapeShareElements() {
+    double[] data = range(24);
+    DoubleTensor tensor = DoubleTensor.wrap(data, 2, 3, 4);
+    DoubleTensor slice = tensor.slice(1);
+    assertArrayEquals(new int[] {3, 4}, slice.shape());
+    slice.set(new int[] {0, 0}, -1);
+    assertEquals(-1, data[12]);
+    assertEquals(-1, tensor.reshape(6, 4).get(3, 0));
+    assertEquals(-1, slice.asMatrix().get(0, 0));
+  }
+
+  @Test
+  void rowsViewTheLastDimension() {
+    DoubleTensor tensor = DoubleTensor.wrap(range(12), 2, 2, 3);
+    List<DoubleBuffer> rows = tensor.rows();
+    assertEquals(4, rows.size());
+    assertEquals(3, rows.get(2).remaining());
+    assertEquals(6, rows.get(2).get(0));
+    assertArrayEquals(range(6), DoubleTensor.wrap(range(12), 2, 6).slice(0).toFlatArray());
+  }
+}
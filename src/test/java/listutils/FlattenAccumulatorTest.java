@@ -0,0 +1,114 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class FlattenAccumulatorTest {
+
+  private static final int THREADS = 4;
+  private static final int CHUNKS = 20_000;
+
+  @Test
+  void drainMatchesFlattenAtEveryLevel() {
+    List<Object> chunks = Arrays.asList(1, Arrays.asList(2, Arrays.asList(3, new Object[] {4})),
+        new Object[] {5, Arrays.asList(6)}, new ArrayList<>());
+    for (int level = -1; level <= 3; level++) {
+      FlattenAccumulator<Object> accumulator = new FlattenAccumulator<>(level);
+      for (Object chunk : chunks) {
+        accumulator.add(chunk);
+      }
+      assertEquals(ListUtility.flatten(chunks, level), accumulator.drain(), "level " + level);
+      assertTrue(accumulator.isEmpty());
+    }
+  }
+
+  @Test
+  void drainJoinsPrimitiveArrays() {
+    FlattenAccumulator<int[]> accumulator = new FlattenAccumulator<>();
+    accumulator.add(new int[] {1, 2});
+    accumulator.add(Arrays.asList(new int[] {3}));
+    List<int[]> drained = accumulator.drain();
+    assertEquals(1, drained.size());
+    assertEquals(3, drained.get(0).length);
+  }
+
+  @Test
+  void keepsOrderOfEachThread() throws Exception {
+    FlattenAccumulator<Integer> accumulator = new FlattenAccumulator<>();
+    run(accumulator, null);
+    int[] next = new int[THREADS];
+    assertInOrder(accumulator.drain(), next);
+    assertEquals(CHUNKS * THREADS, Arrays.stream(next).sum());
+  }
+
+  @Test
+  void concurrentDrainsLoseAndRepeatNothing() throws Exception {
+    FlattenAccumulator<Integer> accumulator = new FlattenAccumulator<>();
+    List<Integer> drained = new ArrayList<>();
+    run(accumulator, drained);
+    drained.addAll(accumulator.drain());
+    int[] next = new int[THREADS];
+    assertInOrder(drained, next);
+    for (int count : next) {
+      assertEquals(CHUNKS, count);
+    }
+  }
+
+  /**
+   * Adds {@link #CHUNKS} pairs of thread and sequence number from each of {@link #THREADS}
+   * threads, while draining repeatedly into {@code drained} if it is given.
+   */
+  private static void run(FlattenAccumulator<Integer> accumulator, List<Integer> drained)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> producers = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int thread = t;
+        producers.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < CHUNKS; i++) {
+            accumulator.add(new Object[] {thread, i});
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> producer : producers) {
+        while (!producer.isDone()) {
+          if (drained != null) {
+            drained.addAll(accumulator.drain());
+          }
+          Thread.yield();
+        }
+        producer.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Checks that the pairs of thread and sequence number in {@code leaves} continue the sequence
+   * of each thread from {@code next}, without gaps, and advances {@code next}.
+   */
+  private static void assertInOrder(List<Integer> leaves, int[] next) {
+    assertEquals(0, leaves.size() % 2);
+    for (int i = 0; i < leaves.size(); i += 2) {
+      int thread = leaves.get(i);
+      assertEquals(next[thread]++, (int) leaves.get(i + 1), "thread " + thread);
+    }
+  }
+}
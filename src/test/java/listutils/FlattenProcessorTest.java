@@ -0,0 +1,175 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Test;
+
+class FlattenProcessorTest {
+
+  @Test
+  void boundedDemandReceivesExactlyRequestedLeaves() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>();
+    Recorder recorder = new Recorder();
+    processor.subscribe(recorder);
+    Source source = new Source(processor, Arrays.asList(1, Arrays.asList(2, 3)),
+        Arrays.asList(4, 5, 6));
+    processor.onSubscribe(source);
+
+    recorder.subscription.request(2);
+    assertEquals(Arrays.asList(1, 2), recorder.items);
+    recorder.subscription.request(3);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), recorder.items);
+    assertFalse(recorder.completed);
+    assertEquals(2, source.requested);
+  }
+
+  @Test
+  void completesWithoutFurtherDemand() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>();
+    Recorder recorder = new Recorder();
+    processor.subscribe(recorder);
+    processor.onSubscribe(new Source(processor, Arrays.asList(1, Arrays.asList(2))));
+
+    recorder.subscription.request(2);
+    assertEquals(Arrays.asList(1, 2), recorder.items);
+    assertTrue(recorder.completed);
+    assertNull(recorder.error);
+  }
+
+  @Test
+  void cancelPropagatesUpstream() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>();
+    Recorder recorder = new Recorder();
+    processor.subscribe(recorder);
+    Source source = new Source(processor, Arrays.asList(1, 2), Arrays.asList(3));
+    processor.onSubscribe(source);
+
+    recorder.subscription.request(1);
+    recorder.subscription.cancel();
+    assertTrue(source.cancelled);
+    recorder.subscription.request(5);
+    assertEquals(Arrays.asList(1), recorder.items);
+    assertFalse(recorder.completed);
+  }
+
+  @Test
+  void cancelBeforeUpstreamCancelsItOnSubscribe() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>();
+    Recorder recorder = new Recorder();
+    processor.subscribe(recorder);
+    recorder.subscription.cancel();
+    Source source = new Source(processor);
+    processor.onSubscribe(source);
+    assertTrue(source.cancelled);
+  }
+
+  @Test
+  void nonPositiveRequestSignalsError() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>();
+    Recorder recorder = new Recorder();
+    processor.subscribe(recorder);
+    Source source = new Source(processor, Arrays.asList(1));
+    processor.onSubscribe(source);
+
+    recorder.subscription.request(0);
+    assertTrue(recorder.error instanceof IllegalArgumentException);
+    assertTrue(source.cancelled);
+    assertTrue(recorder.items.isEmpty());
+  }
+
+  @Test
+  void secondSubscriberIsRejected() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>();
+    processor.subscribe(new Recorder());
+    Recorder second = new Recorder();
+    processor.subscribe(second);
+    assertTrue(second.error instanceof IllegalStateException);
+  }
+
+  @Test
+  void synchronousUpstreamDeliversInOrder() {
+    FlattenProcessor<Object, Object> processor = new FlattenProcessor<>(1);
+    Recorder recorder = new Recorder();
+    processor.subscribe(recorder);
+    // Each request is answered with onNext from inside request
+    processor.onSubscribe(new Source(processor,
+        Arrays.asList(1, Arrays.asList(2, Arrays.asList(3))), 4, new Object[] {5, 6}));
+
+    recorder.subscription.request(Long.MAX_VALUE);
+    assertEquals(Arrays.asList(1, 2, Arrays.asList(3), 4, 5, 6), recorder.items);
+    assertTrue(recorder.completed);
+  }
+
+  /**
+   * Subscriber keeping everything it is sent.
+   */
+  private static final class Recorder implements Flow.Subscriber<Object> {
+
+    final List<Object> items = new ArrayList<>();
+    Flow.Subscription subscription;
+    Throwable error;
+    boolean completed;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Object item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+  /**
+   * Upstream that sends its items synchronously, from within {@code request}, and completes
+   * right after the last one.
+   */
+  private static final class Source implements Flow.Subscription {
+
+    private final Flow.Subscriber<Object> subscriber;
+    private final Deque<Object> items;
+    long requested;
+    boolean cancelled;
+
+    Source(Flow.Subscriber<Object> subscriber, Object... items) {
+      this.subscriber = subscriber;
+      this.items = new ArrayDeque<>(Arrays.asList(items));
+    }
+
+    @Override
+    public void request(long n) {
+      requested += n;
+      for (long i = 0; i < n && !cancelled && !items.isEmpty(); i++) {
+        subscriber.onNext(items.poll());
+        if (items.isEmpty()) {
+          subscriber.onComplete();
+        }
+      }
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+  }
+}
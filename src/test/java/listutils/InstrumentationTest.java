@@ -0,0 +1,59 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationTest {
+
+  @AfterEach
+  void disable() {
+    Instrumentation.disable();
+    Instrumentation.reset();
+  }
+
+  @Test
+  void countsCallsOnlyWhileEnabled() {
+    List<Object> nested = Arrays.asList(1, Arrays.asList(2, Arrays.asList(3)));
+    Instrumentation.reset();
+    ListUtility.flatten(nested);
+    assertEquals(0, Instrumentation.snapshot(Instrumentation.Operation.FLATTEN).calls());
+
+    Instrumentation.enable();
+    assertTrue(Instrumentation.isEnabled());
+    ListUtility.flatten(nested);
+    ListUtility.ensureSize(new ArrayList<>(), 4, 0);
+    Instrumentation.Stats flatten = Instrumentation.snapshot(Instrumentation.Operation.FLATTEN);
+    assertEquals(1, flatten.calls());
+    assertEquals(3, flatten.elements());
+    assertEquals(3, flatten.maxDepth());
+    assertEquals(1, Arrays.stream(flatten.latencyHistogram()).sum());
+    assertEquals(4, Instrumentation.snapshot(Instrumentation.Operation.ENSURE_SIZE).elements());
+
+    Instrumentation.disable();
+    assertFalse(Instrumentation.isEnabled());
+    ListUtility.flatten(nested);
+    assertEquals(1, Instrumentation.snapshot(Instrumentation.Operation.FLATTEN).calls());
+  }
+
+  @Test
+  void latencyQuantileBoundsTheHistogram() {
+    long[] histogram = new long[Instrumentation.BUCKETS];
+    histogram[3] = 9;
+    histogram[10] = 1;
+    Instrumentation.Stats stats = new Instrumentation.Stats(Instrumentation.Operation.TRANSPOSE,
+        10, 0, -1, 0, histogram);
+    assertEquals(8, stats.latencyQuantile(0.5));
+    assertEquals(1024, stats.latencyQuantile(1));
+    assertEquals(0, new Instrumentation.Stats(Instrumentation.Operation.TRANSPOSE, 0, 0, -1, 0,
+        new long[Instrumentation.BUCKETS]).latencyQuantile(0.5));
+    assertThrows(IllegalArgumentException.class, () -> stats.latencyQuantile(2));
+  }
+}
@@ -0,0 +1,251 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ListUtilityTest {
+
+  @Test
+  void transposeReturnsEmptyListUnchanged() {
+    List<List<Integer>> empty = new ArrayList<>();
+    assertSame(empty, ListUtility.transpose(empty));
+  }
+
+  @Test
+  void parallelTransposeReturnsEmptyListUnchanged() {
+    List<List<Integer>> empty = new ArrayList<>();
+    assertSame(empty, ListUtility.parallelTranspose(empty, 1, ForkJoinPool.commonPool()));
+  }
+
+  @Test
+  void paddedHasRandomAccessOnlyOverRandomAccessLists() {
+    assertTrue(ListUtility.padded(new ArrayList<>(), 2, 0) instanceof RandomAccess);
+    assertFalse(ListUtility.padded(new LinkedList<>(), 2, 0) instanceof RandomAccess);
+  }
+
+  @Test
+  void flattenOfPaddedLinkedList() {
+    List<Object> backing = new LinkedList<>(Arrays.asList(Arrays.asList(1, 2), 3));
+    List<Object> padded = ListUtility.padded(backing, 4, Arrays.asList(0));
+    assertEquals(Arrays.asList(1, 2, 3, 0, 0), ListUtility.flatten(padded));
+    assertEquals(Arrays.asList(1, 2, 3, 0, 0), new ArrayList<>(ListUtility.flattenView(padded)));
+  }
+
+  @Test
+  void flattenStreamFlattensToFullDepth() {
+    List<Object> nested = Arrays.asList(1, Arrays.asList(2, new Object[] {3, Arrays.asList(4)}),
+        new LinkedList<>(Arrays.asList(5, 6)), new ArrayList<>(), 7);
+    assertEquals(ListUtility.flatten(nested),
+        ListUtility.flattenStream(nested).collect(Collectors.toList()));
+    assertEquals(Arrays.asList(1, 2, 3, 4),
+        ListUtility.flattenStream(new Object[] {1, new Object[] {2, new Object[] {3}}, 4})
+            .collect(Collectors.toList()));
+  }
+
+  @Test
+  void flattenStreamStreamsPrimitiveArraysWhole() {
+    int[] first = {1, 2};
+    int[] second = {3};
+    List<Object> streamed = ListUtility.flattenStream(
+        Arrays.asList(first, Arrays.asList(second))).collect(Collectors.toList());
+    assertEquals(2, streamed.size());
+    assertSame(first, streamed.get(0));
+    assertSame(second, streamed.get(1));
+  }
+
+  @Test
+  void flattenStreamIsSizedAndSplitsInOrder() {
+    List<Object> nested = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      nested.add(Arrays.asList(IntStream.range(i * 10, i * 10 + 10).boxed().toArray()));
+    }
+    Spliterator<Object> spliterator = ListUtility.flattenStream(nested).spliterator();
+    assertEquals(1000, spliterator.getExactSizeIfKnown());
+    Spliterator<Object> prefix = spliterator.trySplit();
+    assertEquals(500, prefix.getExactSizeIfKnown());
+    assertEquals(500, spliterator.getExactSizeIfKnown());
+    assertArrayEquals(IntStream.range(0, 1000).boxed().toArray(),
+        ListUtility.flattenStream(nested).parallel().toArray());
+  }
+
+  @Test
+  void parallelFlattenMatchesFlattenAtFullDepth() {
+    List<Object> nested = new LinkedList<>();
+    for (int i = 0; i < 200; i++) {
+      nested.add(Arrays.asList(i, new Object[] {Arrays.asList(i, i), new ArrayList<>()}));
+      nested.add(i);
+    }
+    List<Object> flat = ListUtility.parallelFlatten(nested, 8, ForkJoinPool.commonPool());
+    assertEquals(ListUtility.flatten(nested), flat);
+    assertTrue(flat instanceof ArrayList);
+    flat.add(-1);
+  }
+
+  @Test
+  void parallelFlattenJoinsPrimitiveArrays() {
+    List<Object> nested = Arrays.asList(new int[] {1, 2}, Arrays.asList(new int[] {3}));
+    List<int[]> flat = ListUtility.parallelFlatten(nested, 1, ForkJoinPool.commonPool());
+    assertEquals(1, flat.size());
+    assertArrayEquals(new int[] {1, 2, 3}, flat.get(0));
+  }
+
+  @Test
+  void flattenStreamAndParallelFlattenExpandRegisteredContainers() {
+    Containers.register(Set.class, Set::iterator);
+    try {
+      List<Object> nested = Arrays.asList(1, new TreeSet<>(Arrays.asList(2, 3)), 4);
+      assertEquals(Arrays.asList(1, 2, 3, 4),
+          ListUtility.flattenStream(nested).collect(Collectors.toList()));
+      assertEquals(Arrays.asList(1, 2, 3, 4),
+          ListUtility.parallelFlatten(nested, 1, ForkJoinPool.commonPool()));
+    } finally {
+      Containers.unregister(Set.class);
+    }
+  }
+
+  @Test
+  void flattenStopsAtLevel() {
+    List<Object> inner = Arrays.asList(3, new Object[] {4});
+    List<Object> nested = Arrays.asList(1, Arrays.asList(2, inner));
+    assertSame(nested, ListUtility.flatten(nested, 0));
+    assertEquals(Arrays.asList(1, 2, inner), ListUtility.flatten(nested, 1));
+    assertEquals(Arrays.asList(1, 2, 3, 4), ListUtility.flatten(nested));
+    assertEquals(Arrays.asList(1, 2, 3, 4), ListUtility.flatten(nested, -1));
+  }
+
+  @Test
+  void flattenViewReadsThroughWithoutCopying() {
+    List<Integer> first = new ArrayList<>(Arrays.asList(1, 2));
+    List<Object> view = ListUtility.flattenView(Arrays.asList(first, Arrays.asList(3)));
+    assertEquals(Arrays.asList(1, 2, 3), view);
+    first.set(0, 5);
+    assertEquals(5, view.get(0));
+  }
+
+  @Test
+  void flattenToArrayAndFlattenIntoJoinRows() {
+    int[][] rows = {{1, 2}, {}, {3}};
+    assertArrayEquals(new int[] {1, 2, 3}, ListUtility.flattenToArray(rows));
+    int[] dest = new int[5];
+    assertEquals(3, ListUtility.flattenInto(rows, dest, 1));
+    assertArrayEquals(new int[] {0, 1, 2, 3, 0}, dest);
+  }
+
+  @Test
+  void tiledAndParallelTransposesMatchNaive() {
+    double[][] matrix = new double[37][53];
+    for (int i = 0; i < matrix.length; i++) {
+      for (int j = 0; j < matrix[i].length; j++) {
+        matrix[i][j] = i * 100 + j;
+      }
+    }
+    double[][] expected = new double[53][37];
+    for (int i = 0; i < 37; i++) {
+      for (int j = 0; j < 53; j++) {
+        expected[j][i] = matrix[i][j];
+      }
+    }
+    assertArrayEquals(expected, ListUtility.transpose(matrix, 8).toArray(new double[0][]));
+    assertArrayEquals(expected, ListUtility.transpose(matrix).toArray(new double[0][]));
+    assertArrayEquals(expected, ListUtility.parallelTranspose(matrix, 64,
+        ForkJoinPool.commonPool()).toArray(new double[0][]));
+  }
+
+  @Test
+  void transposeRaggedLeavesOutOrFillsMissingElements() {
+    int[][] ragged = {{1, 2, 3}, {4}, {5, 6}};
+    List<int[]> shortened = ListUtility.transposeRagged(ragged);
+    assertArrayEquals(new int[][] {{1, 4, 5}, {2, 6}, {3}}, shortened.toArray(new int[0][]));
+    List<int[]> filled = ListUtility.transposeRagged(ragged, -1);
+    assertArrayEquals(new int[][] {{1, 4, 5}, {2, -1, 6}, {3, -1, -1}},
+        filled.toArray(new int[0][]));
+  }
+
+  @Test
+  void ensureSizePadsWithFillOrSuppliedValues() {
+    List<String> list = new ArrayList<>(Arrays.asList("a"));
+    ListUtility.ensureSize(list, 3, "x");
+    assertEquals(Arrays.asList("a", "x", "x"), list);
+    ListUtility.ensureSize(list, 2, "y");
+    assertEquals(3, list.size());
+    int[] counter = {0};
+    List<Integer> supplied = new LinkedList<>();
+    ListUtility.ensureSizeWith(supplied, 3, () -> counter[0]++);
+    assertEquals(Arrays.asList(0, 1, 2), supplied);
+  }
+
+  @Test
+  void paddedReadsFillAndStoresOnlyWrittenPadding() {
+    List<String> backing = new ArrayList<>(Arrays.asList("a", "b"));
+    List<String> padded = ListUtility.padded(backing, 5, "-");
+    assertEquals(Arrays.asList("a", "b", "-", "-", "-"), padded);
+    padded.set(3, "c");
+    padded.set(0, "z");
+    assertEquals(Arrays.asList("z", "b", "-", "c", "-"), padded);
+    assertEquals(Arrays.asList("z", "b"), backing);
+  }
+
+  @Test
+  void flattenEachAndFlattenWhileVisitLeavesInOrder() {
+    List<Object> nested = Arrays.asList(1, Arrays.asList(2, new Object[] {3}), 4);
+    List<Object> seen = new ArrayList<>();
+    ListUtility.flattenEach(nested, seen::add);
+    assertEquals(Arrays.asList(1, 2, 3, 4), seen);
+    seen.clear();
+    assertFalse(ListUtility.flattenWhile(nested, leaf -> seen.add(leaf) && !leaf.equals(2)));
+    assertEquals(Arrays.asList(1, 2), seen);
+    long[] sum = {0};
+    ListUtility.flattenEach(new long[][] {{1, 2}, {3}}, (long value) -> sum[0] += value);
+    assertEquals(6, sum[0]);
+  }
+
+  @Test
+  void collectorsFlattenStreamsOfChunks() {
+    List<Object> flat = Stream.of(Arrays.asList(1, Arrays.asList(2)), 3)
+        .collect(ListUtility.flattening());
+    assertEquals(Arrays.asList(1, 2, 3), flat);
+    List<Object> oneLevel = Stream.of(Arrays.asList(1, Arrays.asList(2)), 3)
+        .collect(ListUtility.flattening(1));
+    assertEquals(Arrays.asList(1, Arrays.asList(2), 3), oneLevel);
+    assertArrayEquals(new int[] {1, 2, 3, 4}, IntStream.range(0, 50).parallel()
+        .mapToObj(i -> i == 10 ? new int[] {1, 2} : i == 40 ? new int[] {3, 4} : new int[0])
+        .collect(ListUtility.flatteningToIntArray()));
+  }
+
+  @Test
+  void reshapeAndUnflattenViewTheFlatArray() {
+    double[] flat = {1, 2, 3, 4, 5, 6};
+    DoubleTensor tensor = ListUtility.reshape(flat, 2, -1);
+    assertArrayEquals(new int[] {2, 3}, tensor.shape());
+    assertEquals(6, tensor.get(1, 2));
+    List<DoubleBuffer> rows = ListUtility.unflatten(flat, 3);
+    assertEquals(2, rows.size());
+    rows.get(1).put(0, 40);
+    assertEquals(40, flat[3]);
+  }
+
+  @Test
+  void flattenToBitSetPacksRowsInOrder() {
+    BitSet bits = ListUtility.flattenToBitSet(new boolean[][] {{true, false}, {false, true, true}});
+    assertEquals(BitSet.valueOf(new long[] {0b11001}), bits);
+  }
+}
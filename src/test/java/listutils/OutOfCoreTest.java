@@ -0,0 +1,93 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OutOfCoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void flattenFilesJoinsSourcesInOrder() throws IOException {
+    Path first = write("first.bin", new byte[] {1, 2, 3});
+    Path empty = write("empty.bin", new byte[0]);
+    Path second = write("second.bin", new byte[] {4, 5});
+    Path target = directory.resolve("flat.bin");
+    Files.write(target, new byte[64]);
+
+    assertEquals(5, ListUtility.flattenFiles(Arrays.asList(first, empty, second), target));
+    assertArrayEquals(new byte[] {1, 2, 3, 4, 5}, Files.readAllBytes(target));
+  }
+
+  @Test
+  void transposeFileRoundTripsInts() throws IOException {
+    // Taller than one band of 4-byte elements, so the last band is partial
+    assertTransposes(int.class, 2100, 7);
+    assertTransposes(int.class, 3, 40_000);
+    assertTransposes(int.class, 1, 1);
+  }
+
+  @Test
+  void transposeFileRoundTripsEveryWidth() throws IOException {
+    assertTransposes(byte.class, 4100, 300);
+    assertTransposes(short.class, 300, 2900);
+    assertTransposes(double.class, 1500, 33);
+  }
+
+  @Test
+  void transposeFileRejectsShortSource() throws IOException {
+    Path source = write("short.bin", new byte[4 * 5]);
+    Path target = directory.resolve("target.bin");
+    assertThrows(EOFException.class,
+        () -> ListUtility.transposeFile(source, target, int.class, 2, 3));
+  }
+
+  /**
+   * Transposes a {@code rows}-by-{@code columns} file of {@code type}, twice, and checks both
+   * results byte for byte.
+   */
+  private void assertTransposes(Class<?> type, int rows, int columns) throws IOException {
+    int width = PrimitiveBuffer.elementBytes(type);
+    byte[] bytes = new byte[rows * columns * width];
+    ByteBuffer elements = ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder());
+    for (int i = 0; i < rows * columns; i++) {
+      elements.position(i * width);
+      // A distinct value in every byte of the element, as far as the width allows
+      long value = i * 0x0101010101010101L + 0x0807060504030201L;
+      for (int b = 0; b < width; b++) {
+        elements.put((byte) (value >>> (b << 3)));
+      }
+    }
+    byte[] expected = new byte[bytes.length];
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j < columns; j++) {
+        System.arraycopy(bytes, (i * columns + j) * width, expected, (j * rows + i) * width,
+            width);
+      }
+    }
+    Path source = write("source.bin", bytes);
+    Path transposed = directory.resolve("transposed.bin");
+    Path restored = directory.resolve("restored.bin");
+
+    ListUtility.transposeFile(source, transposed, type, rows, columns);
+    assertArrayEquals(expected, Files.readAllBytes(transposed));
+    ListUtility.transposeFile(transposed, restored, type, columns, rows);
+    assertArrayEquals(bytes, Files.readAllBytes(restored));
+  }
+
+  private Path write(String name, byte[] bytes) throws IOException {
+    return Files.write(directory.resolve(name), bytes);
+  }
+}
@@ -0,0 +1,75 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveBufferTest {
+
+  @Test
+  void flattenAndTransposeIntoEveryStorage() {
+    double[][] rows = {{1, 2, 3}, {4, 5, 6}};
+    for (Storage storage : Storage.values()) {
+      try (PrimitiveBuffer flat = ListUtility.flatten(rows, storage)) {
+        assertEquals(storage, flat.storage());
+        assertEquals(double.class, flat.type());
+        assertEquals(6, flat.length());
+        assertEquals(4, flat.getDouble(3));
+      }
+      try (PrimitiveBuffer transposed = ListUtility.transpose(rows, storage)) {
+        assertEquals(4, transposed.getDouble(1));
+        transposed.setDouble(1, -4);
+        assertEquals(-4, transposed.getDouble(1));
+      }
+    }
+  }
+
+  @Test
+  void accessIsCheckedByTypeAndIndex() {
+    PrimitiveBuffer buffer = PrimitiveBuffer.allocate(int.class, 3, Storage.OFF_HEAP);
+    buffer.setInt(2, 7);
+    assertEquals(7, buffer.getInt(2));
+    assertThrows(IllegalArgumentException.class, () -> buffer.getLong(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getInt(3));
+  }
+
+  @Test
+  void releasedBufferRejectsAccess() {
+    PrimitiveBuffer buffer = PrimitiveBuffer.allocate(long.class, 4, Storage.OFF_HEAP);
+    assertFalse(buffer.isReleased());
+    buffer.release();
+    buffer.release();
+    assertTrue(buffer.isReleased());
+    assertThrows(IllegalStateException.class, () -> buffer.getLong(0));
+  }
+
+  @Test
+  void releaseWhileReadingFailsWithExceptionOnly() throws InterruptedException {
+    for (int round = 0; round < 50; round++) {
+      PrimitiveBuffer buffer = PrimitiveBuffer.allocate(long.class, 1 << 16, Storage.OFF_HEAP);
+      CountDownLatch started = new CountDownLatch(1);
+      AtomicLong reads = new AtomicLong();
+      Thread reader = new Thread(() -> {
+        started.countDown();
+        try {
+          for (long i = 0; ; i = (i + 1) & 0xFFFF) {
+            buffer.getLong(i);
+            reads.incrementAndGet();
+          }
+        } catch (IllegalStateException e) {
+          // Released while reading
+        }
+      });
+      reader.start();
+      started.await();
+      buffer.release();
+      reader.join(10_000);
+      assertFalse(reader.isAlive());
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PrimitiveFileTest {
+
+  /** Offset of the first dimension in the header. */
+  private static final int SHAPE_OFFSET = 8;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void writeAndOpenRoundTrip() throws IOException {
+    Path path = directory.resolve("matrix.bin");
+    PrimitiveFile.write(path, new double[][] {{1, 2, 3}, {4, 5, 6}});
+    try (PrimitiveFile file = PrimitiveFile.open(path)) {
+      assertEquals(double.class, file.type());
+      assertArrayEquals(new long[] {2, 3}, file.shape());
+      assertEquals(6, file.data().length());
+      assertEquals(5, file.data().getDouble(4));
+    }
+    PrimitiveFile.write(path, ListUtility.transpose(new int[][] {{1, 2}, {3, 4}}));
+    try (PrimitiveFile file = PrimitiveFile.open(path)) {
+      assertEquals(int.class, file.type());
+      assertArrayEquals(new long[] {2, 2}, file.shape());
+      assertEquals(3, file.data().getInt(1));
+    }
+  }
+
+  @Test
+  void openRejectsNegativeDimension() throws IOException {
+    Path path = forged(-1, 2);
+    assertThrows(IOException.class, () -> PrimitiveFile.open(path));
+  }
+
+  @Test
+  void openRejectsOverflowingShape() throws IOException {
+    Path path = forged(1L << 62, 4);
+    assertThrows(IOException.class, () -> PrimitiveFile.open(path));
+  }
+
+  @Test
+  void openRejectsOverflowingByteSize() throws IOException {
+    // 2^62 doubles wrap to 0 bytes unless the multiplication is checked
+    Path path = forged(1L << 62, 1);
+    assertThrows(IOException.class, () -> PrimitiveFile.open(path));
+  }
+
+  /**
+   * Writes a two-dimensional file of doubles, then overwrites its shape in the header.
+   */
+  private Path forged(long rows, long columns) throws IOException {
+    Path path = directory.resolve("forged.bin");
+    PrimitiveFile.write(path, new double[][] {{1, 2}, {3, 4}});
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.seek(SHAPE_OFFSET);
+      file.writeLong(rows);
+      file.writeLong(columns);
+    }
+    return path;
+  }
+}
@@ -0,0 +1,71 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveListsTest {
+
+  @Test
+  void onlyTheBoxedViewsHaveRandomAccess() {
+    assertFalse(RandomAccess.class.isAssignableFrom(IntList.class));
+    assertFalse(RandomAccess.class.isAssignableFrom(BooleanList.class));
+    assertTrue(new IntList().asList() instanceof RandomAccess);
+    assertTrue(new BooleanList().asList() instanceof RandomAccess);
+  }
+
+  @Test
+  void growsAndShiftsElements() {
+    IntList list = new IntList(0);
+    for (int i = 0; i < 100; i++) {
+      list.add(i);
+    }
+    list.add(0, -1);
+    assertEquals(101, list.size());
+    assertEquals(-1, list.removeAt(0));
+    list.addAll(new int[] {7, 8, 9}, 1, 2);
+    assertEquals(102, list.size());
+    assertEquals(9, list.get(101));
+    list.trimToSize();
+    assertEquals(list, IntList.of(list.toArray()));
+  }
+
+  @Test
+  void checksIndicesAndRanges() {
+    DoubleList list = DoubleList.of(1, 2);
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.add(3, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new double[2], 1, 2));
+    assertThrows(IllegalArgumentException.class, () -> new DoubleList(-1));
+  }
+
+  @Test
+  void boxedViewWritesThrough() {
+    LongList list = LongList.of(3, 1, 2);
+    List<Long> boxed = list.asList();
+    assertEquals(Arrays.asList(3L, 1L, 2L), boxed);
+    assertEquals(boxed.hashCode(), list.hashCode());
+    boxed.add(0L);
+    boxed.remove(0);
+    list.sort();
+    assertArrayEquals(new long[] {0, 1, 2}, list.toArray());
+    assertEquals("[0, 1, 2]", boxed.toString());
+  }
+
+  @Test
+  void grownCapacity() {
+    assertEquals(10, PrimitiveLists.grownCapacity(0, 1));
+    assertEquals(150, PrimitiveLists.grownCapacity(100, 101));
+    assertEquals(500, PrimitiveLists.grownCapacity(100, 500));
+    assertEquals(PrimitiveLists.MAX_CAPACITY,
+        PrimitiveLists.grownCapacity(PrimitiveLists.MAX_CAPACITY - 1, PrimitiveLists.MAX_CAPACITY));
+    assertThrows(OutOfMemoryError.class, () -> PrimitiveLists.grownCapacity(10, -5));
+  }
+}
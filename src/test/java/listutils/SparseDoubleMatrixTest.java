@@ -0,0 +1,37 @@
+package listutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SparseDoubleMatrixTest {
+
+  @Test
+  void storesOnlyElementsDifferentFromFill() {
+    SparseDoubleMatrix matrix = SparseDoubleMatrix.of(new double[][] {{0, 1, 0}, {}, {2}}, 0);
+    assertEquals(3, matrix.rows());
+    assertEquals(3, matrix.columns());
+    assertEquals(2, matrix.stored());
+    assertEquals(1, matrix.get(0, 1));
+    assertEquals(0, matrix.get(1, 2));
+    assertArrayEquals(new int[] {1}, matrix.rowColumns(0));
+    assertArrayEquals(new double[][] {{0, 1, 0}, {0, 0, 0}, {2, 0, 0}}, matrix.toArray());
+  }
+
+  @Test
+  void transposeMatchesDenseTranspose() {
+    double[][] rows = {{0, 5, 0, 7}, {1, 0, 0, 0}, {0, 0, 3, 4}};
+    SparseDoubleMatrix transposed = SparseDoubleMatrix.of(rows, 0).transpose();
+    assertArrayEquals(DoubleMatrix.of(rows).transpose().toArray(), transposed.toArray());
+    assertArrayEquals(new int[] {0, 2}, transposed.rowColumns(3));
+    assertArrayEquals(new double[] {7, 4}, transposed.rowValues(3));
+  }
+
+  @Test
+  void nanFillLeavesOutNaN() {
+    SparseDoubleMatrix matrix = SparseDoubleMatrix.of(new double[][] {{Double.NaN, 1}}, Double.NaN);
+    assertEquals(1, matrix.stored());
+    assertEquals(Double.NaN, matrix.get(0, 0));
+  }
+}